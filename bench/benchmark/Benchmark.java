@@ -0,0 +1,35 @@
+package benchmark;
+
+/**
+ * A single operation which is timed by the benchmark runner.
+ * @author Franklin Nelson
+ *
+ */
+public abstract class Benchmark {
+	/**
+	 * Name of Benchmark, including its parameters
+	 */
+	private String name;
+	
+	/**
+	 * Create a new benchmark.
+	 * @param name - Name of Benchmark, including its parameters
+	 */
+	public Benchmark(String name) {
+		this.name = name;
+	}
+	
+	/**
+	 * Get the name of this benchmark.
+	 * @return Name of benchmark
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Run the operation once. The value returned is kept so the work cannot be optimised away.
+	 * @return Any value computed by the operation
+	 */
+	public abstract long run();
+}
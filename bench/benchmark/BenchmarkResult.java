@@ -0,0 +1,74 @@
+package benchmark;
+
+/**
+ * Class holding the time and memory used by one operation of a benchmark.
+ * @author Franklin Nelson
+ *
+ */
+public class BenchmarkResult {
+	/**
+	 * Name of Benchmark
+	 */
+	private String name;
+	
+	/**
+	 * Average time of one operation in nanoseconds
+	 */
+	private double time;
+	
+	/**
+	 * Average bytes allocated by one operation, -1 if unknown
+	 */
+	private double allocated;
+	
+	/**
+	 * Create a new benchmark result.
+	 * @param name - Name of Benchmark
+	 * @param time - Average time of one operation in nanoseconds
+	 * @param allocated - Average bytes allocated by one operation, -1 if unknown
+	 */
+	public BenchmarkResult(String name, double time, double allocated) {
+		this.name = name;
+		this.time = time;
+		this.allocated = allocated;
+	}
+	
+	/**
+	 * Get the name of the benchmark.
+	 * @return Name of benchmark
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Get the average time of one operation.
+	 * @return Time in nanoseconds
+	 */
+	public double getTime() {
+		return time;
+	}
+	
+	/**
+	 * Get the average memory allocated by one operation.
+	 * @return Allocated bytes, -1 if unknown
+	 */
+	public double getAllocated() {
+		return allocated;
+	}
+	
+	/**
+	 * Get the rate memory was allocated at, like gc.alloc.rate in JMH.
+	 * @return Allocation rate in MB/s, -1 if unknown
+	 */
+	public double getAllocationRate() {
+		return allocated < 0 ? -1 : allocated / time * 1e9 / (1024 * 1024);
+	}
+	
+	/**
+	 * Returns a string with the format 'name time allocated', as stored in the baseline file.
+	 */
+	public String toString() {
+		return name + " " + Math.round(time) + " " + Math.round(allocated);
+	}
+}
@@ -0,0 +1,171 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Times benchmarks and compares them with a baseline file.<br>
+ * Each benchmark is warmed up, then timed over several iterations. The memory allocated<br>
+ * by the current thread is read before and after each iteration.
+ * @author Franklin Nelson
+ *
+ */
+public class BenchmarkRunner {
+	/**
+	 * Time spent warming up each benchmark in nanoseconds
+	 */
+	private static final long WARMUP_TIME = 1000000000L;
+	
+	/**
+	 * Number of timed iterations of each benchmark
+	 */
+	private static final int ITERATIONS = 5;
+	
+	/**
+	 * Shortest time of a timed iteration in nanoseconds
+	 */
+	private static final long ITERATION_TIME = 200000000L;
+	
+	/**
+	 * Slowest time allowed compared to the baseline before it is a regression
+	 */
+	private static final double TIME_TOLERANCE = 1.25;
+	
+	/**
+	 * Most memory allowed compared to the baseline before it is a regression
+	 */
+	private static final double ALLOCATED_TOLERANCE = 1.10;
+	
+	/**
+	 * Values returned by the benchmarks, kept so the work cannot be optimised away
+	 */
+	public static volatile long sink;
+	
+	/**
+	 * Run a benchmark and measure the average time and memory of one operation.
+	 * @param benchmark to run
+	 * @return Result of the benchmark
+	 */
+	public static BenchmarkResult measure(Benchmark benchmark) {
+		// Warm up until the operation is compiled
+		long start = System.nanoTime();
+		while(System.nanoTime() - start < WARMUP_TIME) {
+			sink += benchmark.run();
+		}
+		
+		long time = 0, allocated = 0, operations = 0;
+		
+		for(int i = 0; i < ITERATIONS; i++) {
+			long startAllocated = allocatedBytes();
+			start = System.nanoTime();
+			long end = start;
+			
+			while(end - start < ITERATION_TIME) {
+				sink += benchmark.run();
+				operations++;
+				end = System.nanoTime();
+			}
+			
+			allocated += allocatedBytes() - startAllocated;
+			time += end - start;
+		}
+		
+		return new BenchmarkResult(benchmark.getName(), (double)time / operations, allocatedBytes() < 0 ? -1 : (double)allocated / operations);
+	}
+	
+	/**
+	 * Get the memory allocated by the current thread so far.
+	 * @return Allocated bytes, -1 if the JVM cannot measure it
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		
+		if(bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean)bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Run every benchmark whose name contains the filter, and print the results next to the baseline.
+	 * @param benchmarks - Benchmarks to run
+	 * @param filter - Text the name must contain, empty for every benchmark
+	 * @param baseline - Results of the baseline, by name
+	 * @param out - Writer for the new results, null to not save them
+	 * @return Number of benchmarks slower or allocating more than the baseline
+	 */
+	public static int runAll(List<Benchmark> benchmarks, String filter, Map<String, BenchmarkResult> baseline, PrintWriter out) {
+		int regressions = 0;
+		
+		System.out.println(String.format("%-50s %14s %14s %12s  %s", "Benchmark", "ns/op", "B/op", "MB/s", "Baseline"));
+		
+		for(Benchmark benchmark : benchmarks) {
+			if(!benchmark.getName().contains(filter)) {
+				continue;
+			}
+			
+			BenchmarkResult result = measure(benchmark);
+			BenchmarkResult base = baseline.get(result.getName());
+			String comparison = "-";
+			
+			if(base != null) {
+				boolean slower = result.getTime() > base.getTime() * TIME_TOLERANCE;
+				boolean larger = result.getAllocated() > base.getAllocated() * ALLOCATED_TOLERANCE + 64;
+				
+				comparison = String.format("%+.0f%% time, %+.0f B/op", (result.getTime() / base.getTime() - 1) * 100, result.getAllocated() - base.getAllocated());
+				
+				if(slower || larger) {
+					comparison += " REGRESSION";
+					regressions++;
+				}
+			}
+			
+			System.out.println(String.format("%-50s %14.1f %14.1f %12.1f  %s", result.getName(), result.getTime(), result.getAllocated(), result.getAllocationRate(), comparison));
+			
+			if(out != null) {
+				out.println(result);
+			}
+		}
+		
+		return regressions;
+	}
+	
+	/**
+	 * Read the results stored in a baseline file.
+	 * @param file - Path of the baseline file
+	 * @return Results of the baseline by name, empty if there is no file
+	 */
+	public static Map<String, BenchmarkResult> readBaseline(String file) {
+		Map<String, BenchmarkResult> baseline = new HashMap<String, BenchmarkResult>();
+		
+		try {
+			BufferedReader reader = new BufferedReader(new FileReader(file));
+			
+			try {
+				for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+					String[] values = line.trim().split(" ");
+					
+					if(values.length == 3 && !line.startsWith("#")) {
+						baseline.put(values[0], new BenchmarkResult(values[0], Double.parseDouble(values[1]), Double.parseDouble(values[2])));
+					}
+				}
+			}
+			finally {
+				reader.close();
+			}
+		}
+		catch(IOException e) {
+			System.out.println("No baseline read from " + file + ": " + e.getMessage());
+		}
+		
+		return baseline;
+	}
+}
@@ -0,0 +1,217 @@
+package benchmark;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import generator.PeriodDistribution;
+import generator.TaskSetGenerator;
+import scheduler.Policy;
+import scheduler.ScheduleOptions;
+import scheduler.Scheduler;
+import scheduler.SchedulerUtils;
+import task.Task;
+import task.TaskComparator;
+import task.TaskInstance;
+import task.TaskInstanceComparator;
+
+/**
+ * Benchmarks of the scheduler hot paths over task sets of different sizes, utilizations,<br>
+ * hyperperiods and m/k ratios. Run from the project directory with:<br>
+ * java -cp bin;lib/* benchmark.SchedulerBenchmarks [--save] [filter]<br>
+ * The results are compared with bench/baseline.txt, and --save replaces it with the new results.
+ * @author Franklin Nelson
+ *
+ */
+public class SchedulerBenchmarks {
+	/**
+	 * Path of the baseline file
+	 */
+	private static final String BASELINE = "bench/baseline.txt";
+	
+	/**
+	 * Seed of every generated task set, so each run uses the same workloads
+	 */
+	private static final long SEED = 458;
+	
+	/**
+	 * Run the benchmarks and compare them with the baseline.
+	 * @param args - '--save' to replace the baseline, and text the benchmark names must contain
+	 * @throws IOException if the baseline cannot be saved
+	 */
+	public static void main(String[] args) throws IOException {
+		boolean save = false;
+		String filter = "";
+		
+		for(String arg : args) {
+			if(arg.equals("--save")) {
+				save = true;
+			}
+			else {
+				filter = arg;
+			}
+		}
+		
+		Map<String, BenchmarkResult> baseline = BenchmarkRunner.readBaseline(BASELINE);
+		PrintWriter out = save ? new PrintWriter(new FileWriter(BASELINE)) : null;
+		int regressions;
+		
+		try {
+			regressions = BenchmarkRunner.runAll(createBenchmarks(), filter, baseline, out);
+		}
+		finally {
+			if(out != null) {
+				out.close();
+			}
+		}
+		
+		System.out.println(regressions + " regressions");
+		System.exit(regressions > 0 && !save ? 1 : 0);
+	}
+	
+	/**
+	 * Create every benchmark with every combination of parameters.
+	 * @return List of benchmarks
+	 */
+	public static List<Benchmark> createBenchmarks() {
+		List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+		
+		// Whole schedules
+		for(int n : new int[] {4, 16, 64}) {
+			for(double u : new double[] {0.7, 0.95}) {
+				for(long h : new long[] {1000, 100000}) {
+					for(double mk : new double[] {0.5, 0.75}) {
+						benchmarks.add(createSchedule("Scheduler.createSchedule", n, u, h, mk));
+					}
+				}
+			}
+		}
+		
+		// Overloaded schedules, where most of the time is spent on missed deadlines
+		for(int n : new int[] {16, 64}) {
+			benchmarks.add(createSchedule("Scheduler.checkDeadlines", n, 1.5, 100000, 0.75));
+		}
+		
+		// Every scheduling policy on the same task set, ordered by priority keys instead of the comparator
+		for(Policy policy : Policy.values()) {
+			benchmarks.add(createSchedule("Scheduler.createSchedule[" + policy.name() + "]", 64, 0.95, 100000, 0.75, policy));
+		}
+		
+		// Priority comparison of every pair of task instances
+		for(int n : new int[] {16, 64}) {
+			final List<TaskInstance> instances = new ArrayList<TaskInstance>();
+			for(Task task : createTasks(n, 0.95, 100000, 0.75)) {
+				instances.add(new TaskInstance(task, 0, instances.size(), n, 0));
+			}
+			
+			benchmarks.add(new Benchmark("TaskInstanceComparator.compare:n=" + n) {
+				private TaskInstanceComparator comparator = new TaskInstanceComparator();
+				
+				public long run() {
+					long sum = 0;
+					for(TaskInstance task1 : instances) {
+						for(TaskInstance task2 : instances) {
+							sum += comparator.compare(task1, task2);
+						}
+					}
+					return sum;
+				}
+			});
+		}
+		
+		// Mandatory check of the next 1024 instances of a task
+		for(int k : new int[] {8, 1000}) {
+			final TaskInstance instance = new TaskInstance(new Task("T", 1, 10, k * 3 / 4, k), 0, 0, 1, 0);
+			
+			benchmarks.add(new Benchmark("TaskInstance.setMandatory:k=" + k) {
+				public long run() {
+					long sum = 0;
+					for(int a = 0; a < 1024; a++) {
+						instance.setA(a);
+						sum += instance.isMandatory() ? 1 : 0;
+					}
+					return sum;
+				}
+			});
+		}
+		
+		// Hyperperiod of the task periods
+		for(long h : new long[] {1000, 100000}) {
+			List<Task> tasks = createTasks(64, 0.95, h, 0.75);
+			final long[] periods = new long[tasks.size()];
+			for(int i = 0; i < periods.length; i++) {
+				periods[i] = tasks.get(i).getP();
+			}
+			
+			benchmarks.add(new Benchmark("SchedulerUtils.lcm:n=64,h=" + h) {
+				public long run() {
+					return SchedulerUtils.lcm(periods);
+				}
+			});
+		}
+		
+		return benchmarks;
+	}
+	
+	/**
+	 * Create a benchmark which schedules a generated task set.
+	 * @param name - Name of the benchmark, without parameters
+	 * @param n - Number of tasks
+	 * @param u - Total utilization
+	 * @param h - Hyperperiod, every period divides it
+	 * @param mk - Ratio m/k of every task
+	 * @return Benchmark of the schedule
+	 */
+	private static Benchmark createSchedule(String name, int n, double u, long h, double mk) {
+		return createSchedule(name, n, u, h, mk, null);
+	}
+	
+	/**
+	 * Create a benchmark which schedules a generated task set with a scheduling policy.
+	 * @param name - Name of the benchmark, without parameters
+	 * @param n - Number of tasks
+	 * @param u - Total utilization
+	 * @param h - Hyperperiod, every period divides it
+	 * @param mk - Ratio m/k of every task
+	 * @param policy - Scheduling policy, null to use the task instance comparator
+	 * @return Benchmark of the schedule
+	 */
+	private static Benchmark createSchedule(String name, int n, double u, long h, double mk, Policy policy) {
+		final List<Task> tasks = createTasks(n, u, h, mk);
+		final ScheduleOptions options = new ScheduleOptions();
+		options.setPolicy(policy);
+		
+		return new Benchmark(name + ":n=" + n + ",u=" + u + ",h=" + h + ",mk=" + mk) {
+			private TaskComparator taskComparator = new TaskComparator();
+			private TaskInstanceComparator taskInstanceComparator = new TaskInstanceComparator();
+			
+			public long run() {
+				return Scheduler.createSchedule(tasks, taskComparator, taskInstanceComparator, options).getExecutedTime(0);
+			}
+		};
+	}
+	
+	/**
+	 * Generate a task set whose periods divide the hyperperiod.
+	 * @param n - Number of tasks
+	 * @param u - Total utilization
+	 * @param h - Hyperperiod, every period divides it
+	 * @param mk - Ratio m/k of every task
+	 * @return List of tasks
+	 */
+	private static List<Task> createTasks(int n, double u, long h, double mk) {
+		TaskSetGenerator generator = new TaskSetGenerator(SEED + n, 1);
+		generator.setTaskCount(n);
+		generator.setUtilization(u);
+		generator.setPeriodDistribution(PeriodDistribution.BOUNDED_HYPERPERIOD);
+		generator.setPeriodRange(10, h);
+		generator.setHyperperiod(h);
+		generator.setKRange(8, 8);
+		generator.setMKRange(mk, mk);
+		
+		return generator.next();
+	}
+}
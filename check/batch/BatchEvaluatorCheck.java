@@ -0,0 +1,100 @@
+package batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import generator.TaskSetGenerator;
+import scheduler.ScheduleCache;
+import task.Task;
+
+/**
+ * Regression check of the parallel batch evaluation: generated task sets evaluated on several<br>
+ * threads, with and without a cache, give the same buckets as the task sets evaluated one by one<br>
+ * in order. Run from the project directory with:<br>
+ * java -cp bin;lib/* batch.BatchEvaluatorCheck [seed] [count]<br>
+ * The check exits with status 1 if any bucket differs.
+ * @author Franklin Nelson
+ *
+ */
+public class BatchEvaluatorCheck {
+	/**
+	 * Default seed of the generated task sets
+	 */
+	private static final long SEED = 458;
+	
+	/**
+	 * Default number of generated task sets
+	 */
+	private static final int COUNT = 1000;
+	
+	/**
+	 * Largest difference allowed between average MQRs, which are summed in a different order
+	 */
+	private static final double MQR_TOLERANCE = 1e-9;
+	
+	/**
+	 * Run the check.
+	 * @param args - Seed and number of task sets, both optional
+	 */
+	public static void main(String[] args) {
+		long seed = args.length > 0 ? Long.parseLong(args[0]) : SEED;
+		int count = args.length > 1 ? Integer.parseInt(args[1]) : COUNT;
+		
+		TaskSetGenerator generator = new TaskSetGenerator(seed, count);
+		generator.setUtilizationRange(0.5, 1.2);
+		generator.setPeriodRange(10, 200);
+		
+		List<List<Task>> taskSets = new ArrayList<List<Task>>(count);
+		for(int i = 0; i < count; i++) {
+			generator.setTaskCount(2 + i % 7);
+			taskSets.add(generator.generate(i));
+		}
+		
+		// Every task set is added in order on this thread
+		BatchEvaluator sequential = new BatchEvaluator(1, 0.05, 100000);
+		BatchResult expected = new BatchResult(sequential.getBucketWidth());
+		for(List<Task> tasks : taskSets) {
+			sequential.evaluate(tasks, expected);
+		}
+		sequential.shutdown();
+		
+		int failures = 0;
+		
+		for(int threads : new int[] {2, 4}) {
+			for(boolean cached : new boolean[] {false, true}) {
+				BatchEvaluator evaluator = new BatchEvaluator(threads, 0.05, 100000);
+				evaluator.setCache(cached ? new ScheduleCache(64) : null);
+				
+				// Each task set twice, so the cache has hits
+				List<List<Task>> repeated = new ArrayList<List<Task>>(taskSets);
+				repeated.addAll(taskSets);
+				
+				BatchResult result = evaluator.evaluate(repeated);
+				evaluator.shutdown();
+				
+				String name = threads + " threads" + (cached ? " with a cache" : "");
+				
+				if(result.getBucketCount() != expected.getBucketCount()) {
+					System.out.println(name + ": " + result.getBucketCount() + " buckets instead of " + expected.getBucketCount());
+					failures++;
+					continue;
+				}
+				
+				for(int bucket = 0; bucket < expected.getBucketCount(); bucket++) {
+					boolean same = result.getSets(bucket) == 2 * expected.getSets(bucket)
+							&& Double.compare(result.getSuccessRatio(bucket), expected.getSuccessRatio(bucket)) == 0
+							&& (Double.compare(result.getAverageMQR(bucket), expected.getAverageMQR(bucket)) == 0
+							|| Math.abs(result.getAverageMQR(bucket) - expected.getAverageMQR(bucket)) <= MQR_TOLERANCE);
+					
+					if(!same) {
+						System.out.println(name + ": bucket " + expected.getUtilization(bucket) + " differs");
+						failures++;
+					}
+				}
+			}
+		}
+		
+		System.out.println(count + " task sets checked, " + failures + " failures");
+		System.exit(failures > 0 ? 1 : 0);
+	}
+}
@@ -0,0 +1,82 @@
+package scheduler;
+
+import java.util.List;
+
+import generator.PeriodDistribution;
+import generator.TaskSetGenerator;
+import task.Task;
+
+/**
+ * Task sets and result comparisons shared by the checks of the scheduler and the trace.
+ * @author Franklin Nelson
+ *
+ */
+public class CheckUtils {
+	/**
+	 * Get a number from the arguments of a check.
+	 * @param args - Arguments of the check
+	 * @param index - Index of the argument
+	 * @param value - Value used if there is no such argument
+	 * @return Number given, or the value
+	 */
+	public static long parse(String[] args, int index, long value) {
+		return args.length > index ? Long.parseLong(args[index]) : value;
+	}
+	
+	/**
+	 * Create a generator of small task sets. The periods divide 720, so schedules are short,<br>
+	 * and the utilization goes past 1, so many task sets miss mandatory deadlines.
+	 * @param seed - Seed of the task sets
+	 * @param count - Number of task sets
+	 * @return Generator of the task sets
+	 */
+	public static TaskSetGenerator createGenerator(long seed, long count) {
+		TaskSetGenerator generator = new TaskSetGenerator(seed, count);
+		generator.setPeriodDistribution(PeriodDistribution.BOUNDED_HYPERPERIOD);
+		generator.setHyperperiod(720);
+		generator.setPeriodRange(2, 720);
+		generator.setUtilizationRange(0.5, 1.4);
+		generator.setKRange(1, 8);
+		generator.setMKRange(0, 1);
+		
+		return generator;
+	}
+	
+	/**
+	 * Generate a task set of 2 to 8 tasks.
+	 * @param generator - Generator of the task sets
+	 * @param index - Index of the task set
+	 * @return Task set
+	 */
+	public static List<Task> generate(TaskSetGenerator generator, long index) {
+		generator.setTaskCount(2 + (int)(index % 7));
+		return generator.generate(index);
+	}
+	
+	/**
+	 * Describe everything a schedule recorded except the names of its tasks, so two<br>
+	 * results are the same schedule if their descriptions are equal.
+	 * @param result of the schedule
+	 * @return Description of the schedule
+	 */
+	public static String describe(ScheduleResult result) {
+		StringBuilder description = new StringBuilder();
+		description.append(result.getLength()).append(result.isBounded() ? " bounded " : " ").append(result.isSucceeded());
+		description.append(' ').append(result.getFirstViolation());
+		
+		for(DeadlineMiss miss : result.getDeadlineMisses()) {
+			description.append(' ').append(miss).append(miss.isMandatory() ? 'M' : 'O');
+		}
+		
+		for(int i = 0; i < result.getTasks().size(); i++) {
+			description.append(' ').append(result.getExecutedTime(i)).append('/').append(result.getExecutedInstances(i));
+		}
+		
+		for(int i = 0; i < result.getSegmentCount(); i++) {
+			description.append(' ').append(result.getSegmentTask(i)).append(':').append(result.getSegmentStart(i)).append('-').append(result.getSegmentEnd(i));
+			description.append(result.isSegmentMandatory(i) ? 'M' : 'O').append(result.getSegmentCore(i));
+		}
+		
+		return description.toString();
+	}
+}
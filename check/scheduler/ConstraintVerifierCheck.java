@@ -0,0 +1,91 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import generator.TaskSetGenerator;
+import task.Task;
+import task.TaskComparator;
+import task.TaskInstanceComparator;
+
+/**
+ * Regression check of the (m, k) constraint verifier: on generated task sets, on one processor<br>
+ * and on two processors globally, the first violation of a schedule is the one found by counting<br>
+ * the deadline misses of every window of k instances which ends with a miss. Run from the project directory with:<br>
+ * java -cp bin;lib/* scheduler.ConstraintVerifierCheck [seed] [count]<br>
+ * The check exits with status 1 if any task set fails.
+ * @author Franklin Nelson
+ *
+ */
+public class ConstraintVerifierCheck {
+	/**
+	 * Run the check.
+	 * @param args - Seed and number of task sets, both optional
+	 */
+	public static void main(String[] args) {
+		long seed = CheckUtils.parse(args, 0, 458), count = CheckUtils.parse(args, 1, 3000);
+		TaskSetGenerator generator = CheckUtils.createGenerator(seed, count);
+		long failures = 0, violations = 0;
+		
+		for(long i = 0; i < count; i++) {
+			List<Task> tasks = CheckUtils.generate(generator, i);
+			
+			for(int processors = 1; processors <= 2; processors++) {
+				ScheduleOptions options = new ScheduleOptions();
+				options.setProcessors(processors);
+				
+				// Half of the schedules are cut short, so some windows are not complete
+				if(i % 2 == 1) {
+					options.setMaxLength(1 + i % 500);
+				}
+				
+				ScheduleResult result = Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options);
+				ConstraintViolation expected = findViolation(result);
+				violations += expected != null ? 1 : 0;
+				
+				if(!String.valueOf(expected).equals(String.valueOf(result.getFirstViolation()))) {
+					System.out.println("Task set " + i + " on " + processors + " processors: first violation " + result.getFirstViolation() + " instead of " + expected);
+					failures++;
+				}
+			}
+		}
+		
+		System.out.println(count + " task sets checked, " + violations + " violations, " + failures + " failures");
+		System.exit(failures > 0 ? 1 : 0);
+	}
+	
+	/**
+	 * Find the first violation of a schedule by counting the misses of the window ending with each<br>
+	 * miss, in the order of the misses. Only windows ending with a miss can have a new violation.
+	 * @param result - Result of a schedule which is not fail-fast
+	 * @return First violation, null if every window met its constraint
+	 */
+	private static ConstraintViolation findViolation(ScheduleResult result) {
+		List<Task> tasks = result.getTasks();
+		List<Set<Long>> missed = new ArrayList<Set<Long>>();
+		for(int i = 0; i < tasks.size(); i++) {
+			missed.add(new HashSet<Long>());
+		}
+		
+		for(DeadlineMiss miss : result.getDeadlineMisses()) {
+			Task task = tasks.get(miss.getTask());
+			long instance = miss.getTime() / task.getP() - 1;
+			missed.get(miss.getTask()).add(instance);
+			
+			long first = Math.max(0, instance - task.getK() + 1);
+			int misses = 0;
+			
+			for(long a = first; a <= instance; a++) {
+				misses += missed.get(miss.getTask()).contains(a) ? 1 : 0;
+			}
+			
+			if(misses > task.getK() - task.getM()) {
+				return new ConstraintViolation(miss.getTask(), first, first + task.getK() - 1, miss.getTime());
+			}
+		}
+		
+		return null;
+	}
+}
@@ -0,0 +1,57 @@
+package scheduler;
+
+import java.util.List;
+
+import generator.TaskSetGenerator;
+import task.Task;
+import task.TaskComparator;
+import task.TaskInstanceComparator;
+
+/**
+ * Regression check of fail-fast schedules: on generated task sets, on one processor and on<br>
+ * two processors globally, a fail-fast schedule gives the same verdict and the same first<br>
+ * mandatory miss as a full schedule. Partitioned on two processors, it gives the same verdict,<br>
+ * since every processor stops at the first miss of any of them. Run from the project directory with:<br>
+ * java -cp bin;lib/* scheduler.FailFastCheck [seed] [count]<br>
+ * The check exits with status 1 if any task set fails.
+ * @author Franklin Nelson
+ *
+ */
+public class FailFastCheck {
+	/**
+	 * Run the check.
+	 * @param args - Seed and number of task sets, both optional
+	 */
+	public static void main(String[] args) {
+		long seed = CheckUtils.parse(args, 0, 458), count = CheckUtils.parse(args, 1, 3000);
+		TaskSetGenerator generator = CheckUtils.createGenerator(seed, count);
+		long failures = 0, infeasible = 0;
+		
+		for(long i = 0; i < count; i++) {
+			List<Task> tasks = CheckUtils.generate(generator, i);
+			
+			// One processor, two processors globally, and two processors partitioned
+			for(int mode = 0; mode < 3; mode++) {
+				ScheduleOptions options = new ScheduleOptions();
+				options.setProcessors(mode == 0 ? 1 : 2);
+				options.setPartitioner(mode == 2 ? BinPacking.FIRST_FIT : null);
+				ScheduleResult full = Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options);
+				
+				options.setFailFast(true);
+				ScheduleResult failFast = Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options);
+				
+				infeasible += full.isSucceeded() ? 0 : 1;
+				
+				boolean sameMiss = mode == 2 || String.valueOf(full.getFirstMandatoryMiss()).equals(String.valueOf(failFast.getFirstMandatoryMiss()));
+				
+				if(full.isSucceeded() != failFast.isSucceeded() || !sameMiss) {
+					System.out.println("Task set " + i + " in mode " + mode + ": first miss " + failFast.getFirstMandatoryMiss() + " instead of " + full.getFirstMandatoryMiss());
+					failures++;
+				}
+			}
+		}
+		
+		System.out.println(count + " task sets checked, " + infeasible + " infeasible schedules, " + failures + " failures");
+		System.exit(failures > 0 ? 1 : 0);
+	}
+}
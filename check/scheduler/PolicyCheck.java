@@ -0,0 +1,127 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import generator.TaskSetGenerator;
+import task.Task;
+import task.TaskComparator;
+import task.TaskInstanceComparator;
+
+/**
+ * Regression check of the scheduling policies: on generated task sets, (m, k)-RMS gives the same<br>
+ * schedule as the task instance comparator on one and three processors, full and fail-fast,<br>
+ * and EDF misses no deadline on one processor when the utilization is at most 1. The keys of<br>
+ * distance-based priority are the ones found from every outcome of random histories.<br>
+ * Run from the project directory with:<br>
+ * java -cp bin;lib/* scheduler.PolicyCheck [seed] [count]<br>
+ * The check exits with status 1 if any task set or history fails.
+ * @author Franklin Nelson
+ *
+ */
+public class PolicyCheck {
+	/**
+	 * Run the check.
+	 * @param args - Seed and number of task sets, both optional
+	 */
+	public static void main(String[] args) {
+		long seed = CheckUtils.parse(args, 0, 458), count = CheckUtils.parse(args, 1, 2000);
+		TaskSetGenerator generator = CheckUtils.createGenerator(seed, count);
+		long failures = 0, edfSets = 0;
+		
+		for(long i = 0; i < count; i++) {
+			List<Task> tasks = CheckUtils.generate(generator, i);
+			
+			for(int processors = 1; processors <= 3; processors += 2) {
+				for(boolean failFast : new boolean[] {false, true}) {
+					ScheduleOptions options = new ScheduleOptions();
+					options.setProcessors(processors);
+					options.setFailFast(failFast);
+					ScheduleResult expected = Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options);
+					
+					options.setPolicy(Policy.MK_RMS);
+					ScheduleResult result = Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options);
+					
+					if(!CheckUtils.describe(result).equals(CheckUtils.describe(expected))) {
+						System.out.println("Task set " + i + " on " + processors + " processors" + (failFast ? " fail-fast" : "") + ": (m, k)-RMS schedule differs");
+						failures++;
+					}
+				}
+			}
+			
+			// The periods divide 720, so the utilization is at most 1 if the tasks run at most 720 in 720
+			long demand = 0;
+			for(Task task : tasks) {
+				demand += task.getC() * (720 / task.getP());
+			}
+			
+			if(demand <= 720) {
+				ScheduleOptions options = new ScheduleOptions();
+				options.setPolicy(Policy.EDF);
+				ScheduleResult result = Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options);
+				edfSets++;
+				
+				if(!result.getDeadlineMisses().isEmpty()) {
+					System.out.println("Task set " + i + ": EDF missed " + result.getDeadlineMisses().get(0) + " with a utilization of at most 1");
+					failures++;
+				}
+			}
+		}
+		
+		Random random = new Random(seed);
+		
+		for(long i = 0; i < count; i++) {
+			int k = 1 + random.nextInt(20), m = random.nextInt(k + 1);
+			List<Task> tasks = new ArrayList<Task>();
+			tasks.add(new Task("T", 1, 1, m, k));
+			
+			// The schedule is longer than the window, so every one of the last k outcomes is kept
+			DistanceState state = new DistanceState(tasks, 1000);
+			List<Boolean> missed = new ArrayList<Boolean>();
+			int outcomes = random.nextInt(3 * k + 1);
+			
+			for(int j = 0; j <= outcomes; j++) {
+				long priority = state.getPriority(0, j, j + 1, false), expected = getDistance(missed, m, k);
+				
+				if(priority != expected) {
+					System.out.println("History " + i + " of " + tasks.get(0) + " " + missed + ": key " + priority + " instead of " + expected);
+					failures++;
+					break;
+				}
+				
+				boolean miss = random.nextInt(3) == 0;
+				missed.add(miss);
+				state.instanceFinished(0, j, !miss);
+			}
+		}
+		
+		System.out.println(count + " task sets and histories checked, " + edfSets + " task sets under EDF, " + failures + " failures");
+		System.exit(failures > 0 ? 1 : 0);
+	}
+	
+	/**
+	 * Find the number of consecutive misses which break the constraint of a task, by adding<br>
+	 * misses to its history and counting the misses of its last k outcomes.
+	 * @param missed - Outcome of every instance of the task, true for a miss
+	 * @param m - Mandatory Deadlines
+	 * @param k - Consecutive Instances
+	 * @return 0 if the constraint is already broken, k + 1 if no number of misses breaks it
+	 */
+	private static long getDistance(List<Boolean> missed, int m, int k) {
+		for(int j = 0; j <= k; j++) {
+			// Outcomes before the first instance are met
+			int misses = j;
+			
+			for(int instance = Math.max(0, missed.size() + j - k); instance < missed.size(); instance++) {
+				misses += missed.get(instance) ? 1 : 0;
+			}
+			
+			if(misses > k - m) {
+				return j;
+			}
+		}
+		
+		return k + 1;
+	}
+}
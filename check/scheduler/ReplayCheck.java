@@ -0,0 +1,91 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import generator.TaskSetGenerator;
+import task.Task;
+import task.TaskComparator;
+import task.TaskInstanceComparator;
+
+/**
+ * Regression check of schedules which reuse an earlier schedule: on generated task sets, after<br>
+ * each of a chain of random edits, a schedule given the result before the edit is the same as<br>
+ * a schedule of the edited tasks from scratch. The edits change the computation time or the<br>
+ * mandatory deadlines of a task, remove a task, add a task, or shorten the schedule. Run from<br>
+ * the project directory with:<br>
+ * java -cp bin;lib/* scheduler.ReplayCheck [seed] [count]<br>
+ * The check exits with status 1 if any task set fails.
+ * @author Franklin Nelson
+ *
+ */
+public class ReplayCheck {
+	/**
+	 * Number of edits made to each task set
+	 */
+	private static final int EDITS = 5;
+	
+	/**
+	 * Run the check.
+	 * @param args - Seed and number of task sets, both optional
+	 */
+	public static void main(String[] args) {
+		long seed = CheckUtils.parse(args, 0, 458), count = CheckUtils.parse(args, 1, 2000);
+		TaskSetGenerator generator = CheckUtils.createGenerator(seed, 2 * count);
+		Random random = new Random(seed);
+		long failures = 0;
+		
+		for(long i = 0; i < count; i++) {
+			List<Task> tasks = CheckUtils.generate(generator, i);
+			ScheduleOptions options = new ScheduleOptions();
+			ScheduleResult previous = Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options);
+			
+			for(int edit = 0; edit < EDITS; edit++) {
+				tasks = new ArrayList<Task>(tasks);
+				int index = random.nextInt(tasks.size());
+				Task task = tasks.get(index);
+				String name;
+				
+				switch(random.nextInt(5)) {
+				case 0:
+					name = "computation time of " + task;
+					tasks.set(index, new Task(task.getName(), 1 + (long)(random.nextDouble() * task.getP()), task.getP(), task.getM(), task.getK()));
+					break;
+				case 1:
+					name = "mandatory deadlines of " + task;
+					tasks.set(index, new Task(task.getName(), task.getC(), task.getP(), random.nextInt(task.getK() + 1), task.getK()));
+					break;
+				case 2:
+					name = "removed " + task;
+					if(tasks.size() > 1) {
+						tasks.remove(index);
+					}
+					break;
+				case 3:
+					// The first task of a task set which is not checked
+					name = "added task";
+					tasks.add(CheckUtils.generate(generator, count + i).get(0));
+					break;
+				default:
+					name = "shorter schedule";
+					options = new ScheduleOptions();
+					options.setMaxLength(1 + (long)(random.nextDouble() * previous.getLength()));
+				}
+				
+				ScheduleResult replayed = Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options, previous);
+				ScheduleResult full = Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options);
+				
+				if(!CheckUtils.describe(replayed).equals(CheckUtils.describe(full))) {
+					System.out.println("Task set " + i + " after edit " + edit + " (" + name + "): schedules differ");
+					failures++;
+				}
+				
+				previous = replayed;
+			}
+		}
+		
+		System.out.println(count + " task sets checked, " + failures + " failures");
+		System.exit(failures > 0 ? 1 : 0);
+	}
+}
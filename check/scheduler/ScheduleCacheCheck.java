@@ -0,0 +1,132 @@
+package scheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import generator.TaskSetGenerator;
+import task.Task;
+import task.TaskComparator;
+import task.TaskInstanceComparator;
+
+/**
+ * Regression check of the schedule cache: on generated task sets, the cache gives the same<br>
+ * result as a schedule from scratch for the tasks, renamed copies of them, the tasks in reverse<br>
+ * order and copies with m and k scaled, and renamed copies are found in the cache. A cache which<br>
+ * keeps one result in memory reads the others back from a directory. Run from the project directory with:<br>
+ * java -cp bin;lib/* scheduler.ScheduleCacheCheck [seed] [count]<br>
+ * The check exits with status 1 if any task set fails.
+ * @author Franklin Nelson
+ *
+ */
+public class ScheduleCacheCheck {
+	/**
+	 * Run the check.
+	 * @param args - Seed and number of task sets, both optional
+	 * @throws IOException if the directory of the cache cannot be created
+	 */
+	public static void main(String[] args) throws IOException {
+		long seed = CheckUtils.parse(args, 0, 458), count = CheckUtils.parse(args, 1, 1000);
+		TaskSetGenerator generator = CheckUtils.createGenerator(seed, count);
+		long failures = 0;
+		
+		List<List<Task>> taskSets = new ArrayList<List<Task>>();
+		for(long i = 0; i < count; i++) {
+			taskSets.add(CheckUtils.generate(generator, i));
+		}
+		
+		ScheduleCache cache = new ScheduleCache(16);
+		
+		for(int i = 0; i < count; i++) {
+			List<Task> tasks = taskSets.get(i);
+			List<Task> reversed = new ArrayList<Task>(tasks);
+			Collections.reverse(reversed);
+			List<Task> scaled = new ArrayList<Task>();
+			for(Task task : tasks) {
+				scaled.add(new Task(task.getName(), task.getC(), task.getP(), 2 * task.getM(), 2 * task.getK()));
+			}
+			
+			failures += check("Task set " + i, cache, tasks) ? 0 : 1;
+			
+			long hits = cache.getHits();
+			failures += check("Renamed task set " + i, cache, rename(tasks)) ? 0 : 1;
+			
+			if(cache.getHits() != hits + 1) {
+				System.out.println("Renamed task set " + i + " was not found in the cache");
+				failures++;
+			}
+			
+			failures += check("Reversed task set " + i, cache, reversed) ? 0 : 1;
+			failures += check("Scaled task set " + i, cache, scaled) ? 0 : 1;
+		}
+		
+		File directory = File.createTempFile("check", "");
+		directory.delete();
+		directory.mkdir();
+		
+		try {
+			// Every result but the last is written to the directory, then read back renamed
+			ScheduleCache diskCache = new ScheduleCache(1, directory);
+			
+			for(List<Task> tasks : taskSets) {
+				diskCache.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), new ScheduleOptions());
+			}
+			
+			long hits = diskCache.getHits();
+			
+			for(int i = 0; i < count; i++) {
+				failures += check("Task set " + i + " read back", diskCache, rename(taskSets.get(i))) ? 0 : 1;
+			}
+			
+			if(diskCache.getHits() != hits + count || diskCache.getDiskHits() == 0) {
+				System.out.println((diskCache.getHits() - hits) + " task sets found in the cache, " + diskCache.getDiskHits() + " read back, instead of " + count);
+				failures++;
+			}
+		}
+		finally {
+			for(File file : directory.listFiles()) {
+				file.delete();
+			}
+			
+			directory.delete();
+		}
+		
+		System.out.println(count + " task sets checked, " + failures + " failures");
+		System.exit(failures > 0 ? 1 : 0);
+	}
+	
+	/**
+	 * Check that the cache gives the same result as a schedule from scratch.
+	 * @param name - Name of the task set in the messages
+	 * @param cache - Cache of the schedules
+	 * @param tasks - List of tasks which need to be scheduled
+	 * @return True if the results are the same
+	 */
+	private static boolean check(String name, ScheduleCache cache, List<Task> tasks) {
+		ScheduleResult cached = cache.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), new ScheduleOptions());
+		ScheduleResult full = Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), new ScheduleOptions());
+		
+		if(!cached.getTasks().equals(full.getTasks()) || !CheckUtils.describe(cached).equals(CheckUtils.describe(full))) {
+			System.out.println(name + ": cached schedule differs");
+			return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Copy a list of tasks with new names.
+	 * @param tasks - List of tasks
+	 * @return Tasks with the same values and other names
+	 */
+	private static List<Task> rename(List<Task> tasks) {
+		List<Task> renamed = new ArrayList<Task>();
+		for(Task task : tasks) {
+			renamed.add(new Task("R" + task.getName(), task.getC(), task.getP(), task.getM(), task.getK()));
+		}
+		
+		return renamed;
+	}
+}
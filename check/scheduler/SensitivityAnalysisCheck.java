@@ -0,0 +1,82 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import generator.TaskSetGenerator;
+import task.Task;
+import task.TaskComparator;
+import task.TaskInstanceComparator;
+
+/**
+ * Regression check of the sensitivity analysis: on generated task sets on one processor, the<br>
+ * largest computation time and mandatory instances found for each task are feasible, and one<br>
+ * more is not, checked by full schedules. The values found for the computation times do not<br>
+ * depend on the number of threads. Run from the project directory with:<br>
+ * java -cp bin;lib/* scheduler.SensitivityAnalysisCheck [seed] [count]<br>
+ * The check exits with status 1 if any task set fails.
+ * @author Franklin Nelson
+ *
+ */
+public class SensitivityAnalysisCheck {
+	/**
+	 * Run the check.
+	 * @param args - Seed and number of task sets, both optional
+	 */
+	public static void main(String[] args) {
+		long seed = CheckUtils.parse(args, 0, 458), count = CheckUtils.parse(args, 1, 200);
+		TaskSetGenerator generator = CheckUtils.createGenerator(seed, count);
+		long failures = 0;
+		
+		for(long i = 0; i < count; i++) {
+			List<Task> tasks = CheckUtils.generate(generator, i);
+			SensitivityResult result = SensitivityAnalysis.analyze(tasks, new TaskComparator(), new TaskInstanceComparator(), new ScheduleOptions(), 1);
+			SensitivityResult threaded = SensitivityAnalysis.analyze(tasks, new TaskComparator(), new TaskInstanceComparator(), new ScheduleOptions(), 3);
+			List<Task> sorted = result.getTasks();
+			
+			if(Double.compare(result.getCScale(), threaded.getCScale()) != 0) {
+				System.out.println("Task set " + i + ": scaling factor of C " + threaded.getCScale() + " on 3 threads instead of " + result.getCScale());
+				failures++;
+			}
+			
+			for(int task = 0; task < sorted.size(); task++) {
+				Task t = sorted.get(task);
+				long maxC = result.getMaxC(task);
+				int maxM = result.getMaxM(task);
+				
+				if(threaded.getMaxC(task) != maxC) {
+					System.out.println("Task set " + i + ": largest C of " + t + " is " + threaded.getMaxC(task) + " on 3 threads instead of " + maxC);
+					failures++;
+				}
+				
+				// The largest value is feasible, and the next one is not
+				boolean sameC = (maxC == 0 || isFeasible(sorted, task, maxC, t.getM())) && (maxC == t.getP() || !isFeasible(sorted, task, maxC + 1, t.getM()));
+				boolean sameM = (maxM == -1 || isFeasible(sorted, task, t.getC(), maxM)) && (maxM == t.getK() || !isFeasible(sorted, task, t.getC(), maxM + 1));
+				
+				if(!sameC || !sameM) {
+					System.out.println("Task set " + i + ": largest C " + maxC + " or m " + maxM + " of " + t + " is not next to an infeasible value");
+					failures++;
+				}
+			}
+		}
+		
+		System.out.println(count + " task sets checked, " + failures + " failures");
+		System.exit(failures > 0 ? 1 : 0);
+	}
+	
+	/**
+	 * Check if the tasks meet every mandatory deadline with the C and m of one task changed.
+	 * @param tasks - Tasks in priority order
+	 * @param task - Index of the task changed
+	 * @param c - Computation time of the task
+	 * @param m - Mandatory instances of the task
+	 * @return True if the tasks are feasible, false otherwise
+	 */
+	private static boolean isFeasible(List<Task> tasks, int task, long c, int m) {
+		List<Task> changed = new ArrayList<Task>(tasks);
+		Task t = tasks.get(task);
+		changed.set(task, new Task(t.getName(), c, t.getP(), m, t.getK()));
+		
+		return Scheduler.createSchedule(changed, new TaskComparator(), new TaskInstanceComparator(), new ScheduleOptions()).isSucceeded();
+	}
+}
@@ -0,0 +1,165 @@
+package trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import generator.TaskSetGenerator;
+import scheduler.CheckUtils;
+import scheduler.ScheduleListener;
+import scheduler.ScheduleOptions;
+import scheduler.Scheduler;
+import task.Task;
+import task.TaskComparator;
+import task.TaskInstanceComparator;
+
+/**
+ * Regression check of the binary trace: on generated task sets, on one processor and on two<br>
+ * and four processors globally, the whole trace of a schedule replays the same events the<br>
+ * schedule gave its listener, and ranges of the trace replay the events in them. Run from<br>
+ * the project directory with:<br>
+ * java -cp bin;lib/* trace.TraceCheck [seed] [count]<br>
+ * The check exits with status 1 if any task set fails.
+ * @author Franklin Nelson
+ *
+ */
+public class TraceCheck {
+	/**
+	 * Types of the recorded events
+	 */
+	private static final long RELEASE = 0, EXECUTION = 1, COMPLETION = 2, DEADLINE_MISS = 3;
+	
+	/**
+	 * Number of ranges replayed from each trace
+	 */
+	private static final int RANGES = 20;
+	
+	/**
+	 * Run the check.
+	 * @param args - Seed and number of task sets, both optional
+	 * @throws IOException if a trace cannot be written or read
+	 */
+	public static void main(String[] args) throws IOException {
+		long seed = CheckUtils.parse(args, 0, 458), count = CheckUtils.parse(args, 1, 500);
+		TaskSetGenerator generator = CheckUtils.createGenerator(seed, count);
+		Random random = new Random(seed);
+		File file = File.createTempFile("check", ".trace");
+		long failures = 0;
+		
+		try {
+			for(long i = 0; i < count; i++) {
+				List<Task> tasks = CheckUtils.generate(generator, i);
+				
+				for(int processors = 1; processors <= 4; processors *= 2) {
+					List<long[]> events = new ArrayList<long[]>();
+					ScheduleOptions options = new ScheduleOptions();
+					options.setProcessors(processors);
+					options.setListener(recorder(events));
+					long length = Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options).getLength();
+					
+					TraceWriter writer = new TraceWriter(file, processors);
+					options.setListener(writer);
+					Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options);
+					writer.close();
+					
+					TraceReader reader = new TraceReader(file);
+					
+					try {
+						if(reader.getCount() != events.size()) {
+							System.out.println("Task set " + i + " on " + processors + " processors: " + reader.getCount() + " records instead of " + events.size());
+							failures++;
+						}
+						
+						for(int range = 0; range <= RANGES; range++) {
+							// The first range is the whole schedule
+							long from = range == 0 ? 0 : (long)(random.nextDouble() * length);
+							long to = range == 0 ? length + 1 : from + 1 + (long)(random.nextDouble() * (length - from));
+							
+							List<long[]> replayed = new ArrayList<long[]>();
+							reader.read(from, to, recorder(replayed));
+							
+							if(!describe(replayed).equals(describe(filter(events, from, to)))) {
+								System.out.println("Task set " + i + " on " + processors + " processors: replay of [" + from + ", " + to + ") differs");
+								failures++;
+							}
+						}
+					}
+					finally {
+						reader.close();
+					}
+				}
+			}
+		}
+		finally {
+			file.delete();
+		}
+		
+		System.out.println(count + " task sets checked, " + failures + " failures");
+		System.exit(failures > 0 ? 1 : 0);
+	}
+	
+	/**
+	 * Create a listener which records every event as type, task, instance, start, end and mandatory.
+	 * @param events - List the events are added to
+	 * @return Listener of the events
+	 */
+	private static ScheduleListener recorder(final List<long[]> events) {
+		return new ScheduleListener() {
+			public void taskReleased(int task, long a, long time, boolean isMandatory) {
+				events.add(new long[] {RELEASE, task, a, time, time, isMandatory ? 1 : 0});
+			}
+			
+			public void taskExecuted(int task, long start, long end, boolean isMandatory) {
+				events.add(new long[] {EXECUTION, task, -1, start, end, isMandatory ? 1 : 0});
+			}
+			
+			public void taskCompleted(int task, long a, long time, boolean isMandatory) {
+				events.add(new long[] {COMPLETION, task, a, time, time, isMandatory ? 1 : 0});
+			}
+			
+			public void deadlineMissed(int task, long a, long time, boolean isMandatory) {
+				events.add(new long[] {DEADLINE_MISS, task, a, time, time, isMandatory ? 1 : 0});
+			}
+		};
+	}
+	
+	/**
+	 * Keep the events a trace replays for a range: events which happen in [from, to), and<br>
+	 * executions which overlap it.
+	 * @param events - Every event of the schedule
+	 * @param from - Start of the range
+	 * @param to - End of the range
+	 * @return Events of the range, in order
+	 */
+	private static List<long[]> filter(List<long[]> events, long from, long to) {
+		List<long[]> kept = new ArrayList<long[]>();
+		
+		for(long[] event : events) {
+			boolean inRange = event[0] == EXECUTION ? event[3] < to && event[4] > from : event[3] >= from && event[3] < to;
+			
+			if(inRange) {
+				kept.add(event);
+			}
+		}
+		
+		return kept;
+	}
+	
+	/**
+	 * Describe a list of events, so two lists can be compared.
+	 * @param events - List of events
+	 * @return Description of the events
+	 */
+	private static String describe(List<long[]> events) {
+		StringBuilder description = new StringBuilder();
+		
+		for(long[] event : events) {
+			description.append(Arrays.toString(event));
+		}
+		
+		return description.toString();
+	}
+}
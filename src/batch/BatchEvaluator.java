@@ -0,0 +1,254 @@
+package batch;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import generator.TaskSetGenerator;
+import scheduler.ScheduleCache;
+import scheduler.ScheduleOptions;
+import scheduler.ScheduleResult;
+import scheduler.Scheduler;
+import task.Task;
+import task.TaskComparator;
+import task.TaskInstanceComparator;
+
+/**
+ * Schedules many task sets in parallel on a work-stealing pool, and groups the<br>
+ * success ratio and average MQR of the schedules by utilization. Run with:<br>
+ * java -cp bin;lib/* batch.BatchEvaluator corpus [options]<br>
+ * java -cp bin;lib/* batch.BatchEvaluator --generate seed count [options]<br>
+ * Options: --tasks n, --utilization min max, --bucket width, --max-length length, --threads n,<br>
+ * --cache size, --cache-dir directory
+ * @author Franklin Nelson
+ *
+ */
+public class BatchEvaluator {
+	/**
+	 * Number of task sets read into memory at a time
+	 */
+	private static final int CHUNK_SIZE = 4096;
+	
+	/**
+	 * Pool which schedules the task sets
+	 */
+	private ForkJoinPool pool;
+	
+	/**
+	 * Width of each utilization bucket
+	 */
+	private double bucketWidth;
+	
+	/**
+	 * Longest schedule of each task set
+	 */
+	private long maxLength;
+	
+	/**
+	 * Cache of the schedules, may be null
+	 */
+	private ScheduleCache cache = null;
+	
+	/**
+	 * Create an evaluator of task sets.
+	 * @param threads - Number of threads which schedule task sets
+	 * @param bucketWidth - Width of each utilization bucket
+	 * @param maxLength - Longest schedule of each task set
+	 */
+	public BatchEvaluator(int threads, double bucketWidth, long maxLength) {
+		this.pool = new ForkJoinPool(threads);
+		this.bucketWidth = bucketWidth;
+		this.maxLength = maxLength;
+	}
+	
+	/**
+	 * Get the width of each utilization bucket.
+	 * @return Bucket width
+	 */
+	public double getBucketWidth() {
+		return bucketWidth;
+	}
+	
+	/**
+	 * Get the cache of the schedules.
+	 * @return Schedule cache, null if every task set is scheduled
+	 */
+	public ScheduleCache getCache() {
+		return cache;
+	}
+	
+	/**
+	 * Set the cache of the schedules, so repeated task sets are only scheduled once.
+	 * @param cache - Schedule cache, null to schedule every task set
+	 */
+	public void setCache(ScheduleCache cache) {
+		this.cache = cache;
+	}
+	
+	/**
+	 * Schedule every task set in parallel. Each task set must only be used by this call until it returns.
+	 * @param taskSets - Task sets to schedule
+	 * @return Results of the task sets
+	 */
+	public BatchResult evaluate(List<List<Task>> taskSets) {
+		return pool.invoke(new EvaluationTask(this, taskSets, 0, taskSets.size()));
+	}
+	
+	/**
+	 * Start scheduling every task set in parallel, without waiting for them.<br>
+	 * Each task set must only be used by this evaluation until it is joined.
+	 * @param taskSets - Task sets to schedule
+	 * @return Evaluation which gives the results of the task sets when joined
+	 */
+	ForkJoinTask<BatchResult> submit(List<List<Task>> taskSets) {
+		return pool.submit(new EvaluationTask(this, taskSets, 0, taskSets.size()));
+	}
+	
+	/**
+	 * Schedule one task set and add it to a result.
+	 * @param tasks - Task set to schedule
+	 * @param result - Result to add the schedule to
+	 */
+	void evaluate(List<Task> tasks, BatchResult result) {
+		double utilization = 0;
+		for(Task task : tasks) {
+			utilization += (double)task.getC() / task.getP();
+		}
+		
+		ScheduleOptions options = new ScheduleOptions();
+		options.setMaxLength(maxLength);
+		options.setRecordSegments(false);
+		
+		ScheduleResult schedule = cache != null ? cache.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options) : Scheduler.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options);
+		
+		boolean hasMQR = false;
+		for(int i = 0; i < tasks.size(); i++) {
+			hasMQR |= schedule.hasMQR(i);
+		}
+		
+		result.add(utilization, schedule.isSucceeded(), hasMQR, schedule.getAverageMQR());
+	}
+	
+	/**
+	 * Stop the threads of the pool.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+	
+	/**
+	 * Schedule a corpus of task sets, or generated task sets, and print the results.
+	 * @param args - Corpus file or '--generate seed count', followed by options
+	 * @throws IOException if the corpus cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		TaskSetReader reader = null;
+		TaskSetGenerator generator = null;
+		int threads = Runtime.getRuntime().availableProcessors();
+		double bucketWidth = 0.05;
+		long maxLength = ScheduleOptions.DEFAULT_MAX_LENGTH;
+		int cacheSize = 0;
+		File cacheDirectory = null;
+		int i = 0;
+		
+		if(args.length == 0) {
+			System.out.println("Usage: BatchEvaluator (corpus | --generate seed count) [--tasks n] [--utilization min max] [--bucket width] [--max-length length] [--threads n] [--cache size] [--cache-dir directory]");
+			return;
+		}
+		else if(args[0].equals("--generate")) {
+			generator = new TaskSetGenerator(Long.parseLong(args[1]), Long.parseLong(args[2]));
+			generator.setUtilizationRange(0.05, 1.0);
+			i = 3;
+		}
+		else {
+			reader = new TaskSetReader(new FileReader(args[0]));
+			i = 1;
+		}
+		
+		for(; i < args.length; i++) {
+			if(args[i].equals("--tasks") && generator != null) {
+				generator.setTaskCount(Integer.parseInt(args[++i]));
+			}
+			else if(args[i].equals("--utilization") && generator != null) {
+				generator.setUtilizationRange(Double.parseDouble(args[++i]), Double.parseDouble(args[++i]));
+			}
+			else if(args[i].equals("--bucket")) {
+				bucketWidth = Double.parseDouble(args[++i]);
+			}
+			else if(args[i].equals("--max-length")) {
+				maxLength = Long.parseLong(args[++i]);
+			}
+			else if(args[i].equals("--threads")) {
+				threads = Integer.parseInt(args[++i]);
+			}
+			else if(args[i].equals("--cache")) {
+				cacheSize = Integer.parseInt(args[++i]);
+			}
+			else if(args[i].equals("--cache-dir")) {
+				cacheDirectory = new File(args[++i]);
+			}
+			else {
+				throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+		
+		BatchEvaluator evaluator = new BatchEvaluator(threads, bucketWidth, maxLength);
+		if(cacheSize > 0) {
+			evaluator.setCache(new ScheduleCache(cacheSize, cacheDirectory));
+		}
+		
+		BatchResult result = new BatchResult(bucketWidth);
+		long start = System.nanoTime();
+		
+		try {
+			// Read a chunk of task sets at a time, so the corpus is never all in memory. The next chunk is read
+			// and queued before the last one is joined, so threads done with it schedule the next chunk while
+			// a long schedule finishes, instead of waiting for it
+			ForkJoinTask<BatchResult> running = null;
+			
+			while(true) {
+				List<List<Task>> chunk = new ArrayList<List<Task>>(CHUNK_SIZE);
+				
+				while(chunk.size() < CHUNK_SIZE) {
+					List<Task> tasks = reader != null ? reader.readTaskSet() : generator.hasNext() ? generator.next() : null;
+					
+					if(tasks == null) {
+						break;
+					}
+					
+					chunk.add(tasks);
+				}
+				
+				ForkJoinTask<BatchResult> next = chunk.isEmpty() ? null : evaluator.submit(chunk);
+				
+				if(running != null) {
+					result.merge(running.join());
+				}
+				
+				if(next == null) {
+					break;
+				}
+				
+				running = next;
+			}
+		}
+		finally {
+			evaluator.shutdown();
+			
+			if(reader != null) {
+				reader.close();
+			}
+		}
+		
+		System.out.print(result);
+		System.out.println(result.getTotalSets() + " task sets in " + (System.nanoTime() - start) / 1000000 + " ms on " + threads + " threads");
+		
+		if(evaluator.getCache() != null) {
+			System.out.println(evaluator.getCache());
+		}
+	}
+}
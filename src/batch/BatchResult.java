@@ -0,0 +1,155 @@
+package batch;
+
+import java.util.Arrays;
+
+/**
+ * Class holding the success ratio and average MQR of many task sets, grouped by utilization.<br>
+ * Bucket b holds the task sets with a total utilization in [b * width, (b + 1) * width).
+ * @author Franklin Nelson
+ *
+ */
+public class BatchResult {
+	/**
+	 * Width of each utilization bucket
+	 */
+	private double bucketWidth;
+	
+	/**
+	 * Number of task sets, successful schedules and task sets with an MQR in each bucket
+	 */
+	private long[] sets = new long[0], succeeded = new long[0], mqrSets = new long[0];
+	
+	/**
+	 * Sum of the average MQR of the task sets in each bucket
+	 */
+	private double[] mqr = new double[0];
+	
+	/**
+	 * Create an empty result.
+	 * @param bucketWidth - Width of each utilization bucket
+	 */
+	public BatchResult(double bucketWidth) {
+		this.bucketWidth = bucketWidth;
+	}
+	
+	/**
+	 * Add the schedule of a task set.
+	 * @param utilization - Total utilization of the task set
+	 * @param isSucceeded - True if no mandatory deadline was missed
+	 * @param hasMQR - True if any task has optional instances
+	 * @param averageMQR - Average MQR of the schedule
+	 */
+	public void add(double utilization, boolean isSucceeded, boolean hasMQR, double averageMQR) {
+		int bucket = (int)(utilization / bucketWidth);
+		grow(bucket + 1);
+		
+		sets[bucket]++;
+		succeeded[bucket] += isSucceeded ? 1 : 0;
+		
+		if(hasMQR) {
+			mqrSets[bucket]++;
+			mqr[bucket] += averageMQR;
+		}
+	}
+	
+	/**
+	 * Add every task set of another result with the same bucket width.
+	 * @param other - Result to add
+	 */
+	public void merge(BatchResult other) {
+		grow(other.sets.length);
+		
+		for(int i = 0; i < other.sets.length; i++) {
+			sets[i] += other.sets[i];
+			succeeded[i] += other.succeeded[i];
+			mqrSets[i] += other.mqrSets[i];
+			mqr[i] += other.mqr[i];
+		}
+	}
+	
+	/**
+	 * Make room for a number of buckets.
+	 * @param buckets - Number of buckets needed
+	 */
+	private void grow(int buckets) {
+		if(buckets > sets.length) {
+			sets = Arrays.copyOf(sets, buckets);
+			succeeded = Arrays.copyOf(succeeded, buckets);
+			mqrSets = Arrays.copyOf(mqrSets, buckets);
+			mqr = Arrays.copyOf(mqr, buckets);
+		}
+	}
+	
+	/**
+	 * Get the number of buckets, the last one holds the highest utilization.
+	 * @return Number of buckets
+	 */
+	public int getBucketCount() {
+		return sets.length;
+	}
+	
+	/**
+	 * Get the lowest utilization of a bucket.
+	 * @param bucket - Index of the bucket
+	 * @return Lowest utilization
+	 */
+	public double getUtilization(int bucket) {
+		return bucket * bucketWidth;
+	}
+	
+	/**
+	 * Get the number of task sets in a bucket.
+	 * @param bucket - Index of the bucket
+	 * @return Number of task sets
+	 */
+	public long getSets(int bucket) {
+		return sets[bucket];
+	}
+	
+	/**
+	 * Get the number of task sets in every bucket.
+	 * @return Number of task sets
+	 */
+	public long getTotalSets() {
+		long total = 0;
+		
+		for(long count : sets) {
+			total += count;
+		}
+		
+		return total;
+	}
+	
+	/**
+	 * Get the share of the task sets in a bucket which were scheduled without a mandatory miss.
+	 * @param bucket - Index of the bucket
+	 * @return Success ratio, 0.0 if the bucket is empty
+	 */
+	public double getSuccessRatio(int bucket) {
+		return sets[bucket] > 0 ? (double)succeeded[bucket] / sets[bucket] : 0.0;
+	}
+	
+	/**
+	 * Get the average MQR of the task sets in a bucket which have optional instances.
+	 * @param bucket - Index of the bucket
+	 * @return Average MQR, 0.0 if no task set has optional instances
+	 */
+	public double getAverageMQR(int bucket) {
+		return mqrSets[bucket] > 0 ? mqr[bucket] / mqrSets[bucket] : 0.0;
+	}
+	
+	/**
+	 * Returns a table with one line per non-empty bucket.
+	 */
+	public String toString() {
+		StringBuilder table = new StringBuilder(String.format("%-14s %10s %14s %12s%n", "Utilization", "Sets", "Success Ratio", "Average MQR"));
+		
+		for(int i = 0; i < sets.length; i++) {
+			if(sets[i] > 0) {
+				table.append(String.format("[%.2f, %.2f) %10d %14.4f %12.4f%n", getUtilization(i), getUtilization(i + 1), sets[i], getSuccessRatio(i), getAverageMQR(i)));
+			}
+		}
+		
+		return table.toString();
+	}
+}
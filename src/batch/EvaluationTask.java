@@ -0,0 +1,69 @@
+package batch;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import task.Task;
+
+/**
+ * Schedules a range of task sets, splitting it in half until each part holds one task set.<br>
+ * Idle threads of the pool steal the halves which are not started yet.
+ * @author Franklin Nelson
+ *
+ */
+class EvaluationTask extends RecursiveTask<BatchResult> {
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Evaluator which schedules each task set
+	 */
+	private BatchEvaluator evaluator;
+	
+	/**
+	 * Task sets to schedule
+	 */
+	private List<List<Task>> taskSets;
+	
+	/**
+	 * First task set of the range, and the task set after the last one
+	 */
+	private int start, end;
+	
+	/**
+	 * Create a task which schedules a range of task sets.
+	 * @param evaluator - Evaluator which schedules each task set
+	 * @param taskSets - Task sets to schedule
+	 * @param start - First task set of the range
+	 * @param end - Task set after the last one
+	 */
+	EvaluationTask(BatchEvaluator evaluator, List<List<Task>> taskSets, int start, int end) {
+		this.evaluator = evaluator;
+		this.taskSets = taskSets;
+		this.start = start;
+		this.end = end;
+	}
+	
+	/**
+	 * Schedule the range of task sets and return the results of every one.
+	 */
+	protected BatchResult compute() {
+		if(end - start <= 1) {
+			BatchResult result = new BatchResult(evaluator.getBucketWidth());
+			
+			if(end > start) {
+				evaluator.evaluate(taskSets.get(start), result);
+			}
+			
+			return result;
+		}
+		
+		int middle = (start + end) >>> 1;
+		EvaluationTask left = new EvaluationTask(evaluator, taskSets, start, middle);
+		left.fork();
+		
+		BatchResult result = new EvaluationTask(evaluator, taskSets, middle, end).compute();
+		result.merge(left.join());
+		
+		return result;
+	}
+}
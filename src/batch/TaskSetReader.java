@@ -0,0 +1,93 @@
+package batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Reads task sets from a corpus file one at a time.<br>
+ * Each line holds one task as 'name c p' or 'name c p m k', a blank line ends a<br>
+ * task set, and lines starting with '#' are ignored.
+ * @author Franklin Nelson
+ *
+ */
+public class TaskSetReader {
+	/**
+	 * Reader of the corpus
+	 */
+	private BufferedReader reader;
+	
+	/**
+	 * Number of the last line read
+	 */
+	private long line = 0;
+	
+	/**
+	 * Create a reader of task sets.
+	 * @param reader - Reader of the corpus
+	 */
+	public TaskSetReader(Reader reader) {
+		this.reader = new BufferedReader(reader);
+	}
+	
+	/**
+	 * Read the next task set.
+	 * @return List of tasks, null if the end of the corpus has been reached
+	 * @throws IOException if the corpus cannot be read or a task is not valid
+	 */
+	public List<Task> readTaskSet() throws IOException {
+		List<Task> tasks = new ArrayList<Task>();
+		
+		for(String text = reader.readLine(); text != null; text = reader.readLine()) {
+			line++;
+			text = text.trim();
+			
+			if(text.length() == 0) {
+				if(!tasks.isEmpty()) {
+					return tasks;
+				}
+			}
+			else if(!text.startsWith("#")) {
+				tasks.add(parseTask(text));
+			}
+		}
+		
+		return tasks.isEmpty() ? null : tasks;
+	}
+	
+	/**
+	 * Create a task from one line of the corpus.
+	 * @param text - Line of the corpus
+	 * @return Task on the line
+	 * @throws IOException if the task is not valid
+	 */
+	private Task parseTask(String text) throws IOException {
+		String[] values = text.split("\\s+");
+		
+		try {
+			if(values.length == 3) {
+				return new Task(values[0], Long.parseLong(values[1]), Long.parseLong(values[2]));
+			}
+			else if(values.length == 5) {
+				return new Task(values[0], Long.parseLong(values[1]), Long.parseLong(values[2]), Integer.parseInt(values[3]), Integer.parseInt(values[4]));
+			}
+		}
+		catch(IllegalArgumentException e) {
+			throw new IOException("Line " + line + ": " + e.getMessage());
+		}
+		
+		throw new IOException("Line " + line + ": expected 'name c p' or 'name c p m k'");
+	}
+	
+	/**
+	 * Close the corpus.
+	 * @throws IOException if the corpus cannot be closed
+	 */
+	public void close() throws IOException {
+		reader.close();
+	}
+}
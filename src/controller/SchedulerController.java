@@ -1,12 +1,33 @@
 package controller;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.DefaultListModel;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
+import scheduler.ComparisonResult;
+import scheduler.Partitioner;
+import scheduler.Policy;
+import scheduler.PolicyComparison;
+import scheduler.ProgressListener;
+import scheduler.SchedulabilityAnalysis;
+import scheduler.SchedulabilityResult;
+import scheduler.ScheduleCache;
+import scheduler.ScheduleOptions;
+import scheduler.ScheduleResult;
 import scheduler.Scheduler;
+import scheduler.SchedulingPolicy;
+import scheduler.SensitivityAnalysis;
+import scheduler.SensitivityResult;
 import task.Task;
 import task.TaskComparator;
 import task.TaskInstanceComparator;
@@ -20,6 +41,13 @@ import view.View;
 public class SchedulerController {
 	private List<Task> tasks = new ArrayList<Task>();
 	private View view;
+	private SwingWorker<ScheduleResult, Void> worker;
+	private SwingWorker<SensitivityResult, Void> sensitivityWorker;
+	private SwingWorker<ComparisonResult, Void> comparisonWorker;
+	private boolean busy = false;
+	private ScheduleResult result;
+	private SchedulingPolicy resultPolicy;
+	private ScheduleCache cache = new ScheduleCache(16);
 	
 	/**
 	 * Constructor for SchedulerController tied to the view.
@@ -35,8 +63,8 @@ public class SchedulerController {
 	public void addTask() {
 		try {
 			String name = this.view.fields[0].getText();
-			int c = Integer.parseInt(this.view.fields[1].getText());
-			int p = Integer.parseInt(this.view.fields[2].getText());
+			long c = Long.parseLong(this.view.fields[1].getText());
+			long p = Long.parseLong(this.view.fields[2].getText());
 			int m = Integer.parseInt(this.view.fields[3].getText());
 			int k = Integer.parseInt(this.view.fields[4].getText());
 			
@@ -53,6 +81,9 @@ public class SchedulerController {
 		catch(NumberFormatException e) {
 			JOptionPane.showMessageDialog(this.view.getContentPane(), "Please fill out all fields", "Input Error", JOptionPane.ERROR_MESSAGE);
 		}
+		catch(IllegalArgumentException e) {
+			JOptionPane.showMessageDialog(this.view.getContentPane(), e.getMessage(), "Input Error", JOptionPane.ERROR_MESSAGE);
+		}
 	}
 	
 	/**
@@ -63,8 +94,8 @@ public class SchedulerController {
 		if(selectedIndex >= 0) {
 			try {
 				String name = this.view.fields[0].getText();
-				int c = Integer.parseInt(this.view.fields[1].getText());
-				int p = Integer.parseInt(this.view.fields[2].getText());
+				long c = Long.parseLong(this.view.fields[1].getText());
+				long p = Long.parseLong(this.view.fields[2].getText());
 				int m = Integer.parseInt(this.view.fields[3].getText());
 				int k = Integer.parseInt(this.view.fields[4].getText());
 				
@@ -81,6 +112,9 @@ public class SchedulerController {
 			catch(NumberFormatException e) {
 				JOptionPane.showMessageDialog(this.view.getContentPane(), "Please fill out all fields", "Input Error", JOptionPane.ERROR_MESSAGE);
 			}
+			catch(IllegalArgumentException e) {
+				JOptionPane.showMessageDialog(this.view.getContentPane(), e.getMessage(), "Input Error", JOptionPane.ERROR_MESSAGE);
+			}
 		}
 		else {
 			JOptionPane.showMessageDialog(this.view.getContentPane(), "No task is selected", "Selection Error", JOptionPane.ERROR_MESSAGE);
@@ -102,15 +136,306 @@ public class SchedulerController {
 	}
 	
 	/**
-	 * Schedules the tasks in the list.
+	 * Schedules the tasks in the list on a background thread, so the window<br>
+	 * stays responsive. The schedule is shown when it is done. The last schedule<br>
+	 * is reused for the tasks with a higher priority than every changed task, and<br>
+	 * recent schedules are kept so scheduling the same tasks again is instant.<br>
+	 * The tasks run on the processors chosen, globally or partitioned by a heuristic.
 	 */
 	public void scheduleTasks() {
-		if(this.tasks.size() > 0) {
-			this.view.textArea.setText("");
-			this.view.chartDataset = Scheduler.createSchedule(this.tasks, new TaskComparator(), new TaskInstanceComparator(), this.view.textArea);
+		if(this.isBusy()) {
+			return;
+		}
+		
+		if(this.tasks.isEmpty()) {
+			this.view.refreshChartPanel();
+			return;
+		}
+		
+		final ScheduleOptions options = this.getOptions();
+		if(options == null) {
+			return;
+		}
+		
+		final List<Task> tasks = new ArrayList<Task>(this.tasks);
+		// The analysis is of the comparators on one processor, it says nothing about other schedules
+		final SchedulabilityResult analysis = options.getPolicy() == null && options.getProcessors() == 1 ? SchedulabilityAnalysis.analyze(tasks, new TaskComparator(), options.getMaxLength()) : null;
+		// Only a schedule of the same policy can be reused
+		final ScheduleResult previous = options.getPolicy() == this.resultPolicy ? this.result : null;
+		
+		// Taken by the computation when it starts, or by done() if it is cancelled before
+		final AtomicBoolean started = new AtomicBoolean();
+		
+		this.worker = new SwingWorker<ScheduleResult, Void>() {
+			protected ScheduleResult doInBackground() {
+				if(!started.compareAndSet(false, true)) {
+					return null;
+				}
+				
+				options.setProgressListener(new ProgressListener() {
+					public void progressChanged(long time, long length) {
+						setProgress((int)(100.0 * time / length));
+					}
+				});
+				
+				try {
+					return cache.createSchedule(tasks, new TaskComparator(), new TaskInstanceComparator(), options, previous);
+				}
+				finally {
+					finished();
+				}
+			}
+			
+			protected void done() {
+				if(isCancelled() && started.compareAndSet(false, true)) {
+					finished();
+				}
+				
+				try {
+					result = get();
+					resultPolicy = options.getPolicy();
+					view.setSchedule(result);
+					if(analysis != null) {
+						view.textArea.append("\nSchedulability Analysis: " + analysis.getSchedulability());
+					}
+					
+					view.refreshChartPanel();
+				}
+				catch(CancellationException e) {
+					view.textArea.setText("Scheduling Cancelled");
+				}
+				catch(InterruptedException e) {
+					view.textArea.setText("Scheduling Cancelled");
+				}
+				catch(ExecutionException e) {
+					JOptionPane.showMessageDialog(view.getContentPane(), e.getCause().toString(), "Scheduling Error", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+		};
+		
+		this.worker.addPropertyChangeListener(new PropertyChangeListener() {
+			public void propertyChange(PropertyChangeEvent e) {
+				if("progress".equals(e.getPropertyName())) {
+					view.progressBar.setValue((Integer)e.getNewValue());
+				}
+			}
+		});
+		
+		this.busy = true;
+		this.view.setScheduling(true);
+		this.worker.execute();
+	}
+	
+	/**
+	 * Finds how far the computation time and the mandatory instances of the tasks<br>
+	 * can grow on a background thread, and shows the table of the analysis when it is done.
+	 */
+	public void analyzeSensitivity() {
+		if(this.isBusy() || this.tasks.isEmpty()) {
+			return;
+		}
+		
+		final ScheduleOptions options = this.getOptions();
+		if(options == null) {
+			return;
+		}
+		
+		final List<Task> tasks = new ArrayList<Task>(this.tasks);
+		
+		// Taken by the computation when it starts, or by done() if it is cancelled before
+		final AtomicBoolean started = new AtomicBoolean();
+		
+		this.sensitivityWorker = new SwingWorker<SensitivityResult, Void>() {
+			protected SensitivityResult doInBackground() {
+				if(!started.compareAndSet(false, true)) {
+					return null;
+				}
+				
+				options.setProgressListener(new ProgressListener() {
+					public void progressChanged(long done, long searches) {
+						setProgress((int)(100.0 * done / searches));
+					}
+				});
+				
+				try {
+					return SensitivityAnalysis.analyze(tasks, new TaskComparator(), new TaskInstanceComparator(), options);
+				}
+				finally {
+					finished();
+				}
+			}
+			
+			protected void done() {
+				if(isCancelled() && started.compareAndSet(false, true)) {
+					finished();
+				}
+				
+				try {
+					view.setSensitivity(get());
+				}
+				catch(CancellationException e) {
+					view.textArea.setText("Analysis Cancelled");
+				}
+				catch(InterruptedException e) {
+					view.textArea.setText("Analysis Cancelled");
+				}
+				catch(ExecutionException e) {
+					JOptionPane.showMessageDialog(view.getContentPane(), e.getCause().toString(), "Analysis Error", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+		};
+		
+		this.sensitivityWorker.addPropertyChangeListener(new PropertyChangeListener() {
+			public void propertyChange(PropertyChangeEvent e) {
+				if("progress".equals(e.getPropertyName())) {
+					view.progressBar.setValue((Integer)e.getNewValue());
+				}
+			}
+		});
+		
+		this.busy = true;
+		this.view.setScheduling(true);
+		this.sensitivityWorker.execute();
+	}
+	
+	/**
+	 * Schedules the tasks with every policy at the same time on a background thread,<br>
+	 * and shows the table and the charts of the schedules side by side when they are done.
+	 */
+	public void comparePolicies() {
+		if(this.isBusy() || this.tasks.isEmpty()) {
+			return;
+		}
+		
+		final ScheduleOptions options = this.getOptions();
+		if(options == null) {
+			return;
+		}
+		
+		final List<Task> tasks = new ArrayList<Task>(this.tasks);
+		
+		// Taken by the computation when it starts, or by done() if it is cancelled before
+		final AtomicBoolean started = new AtomicBoolean();
+		
+		this.comparisonWorker = new SwingWorker<ComparisonResult, Void>() {
+			protected ComparisonResult doInBackground() {
+				if(!started.compareAndSet(false, true)) {
+					return null;
+				}
+				
+				options.setProgressListener(new ProgressListener() {
+					public void progressChanged(long time, long length) {
+						setProgress((int)(100.0 * time / length));
+					}
+				});
+				
+				try {
+					return PolicyComparison.compare(tasks, new TaskComparator(), new TaskInstanceComparator(), Arrays.<SchedulingPolicy>asList(Policy.values()), options);
+				}
+				finally {
+					finished();
+				}
+			}
+			
+			protected void done() {
+				if(isCancelled() && started.compareAndSet(false, true)) {
+					finished();
+				}
+				
+				try {
+					view.setComparison(get());
+				}
+				catch(CancellationException e) {
+					view.textArea.setText("Comparison Cancelled");
+				}
+				catch(InterruptedException e) {
+					view.textArea.setText("Comparison Cancelled");
+				}
+				catch(ExecutionException e) {
+					JOptionPane.showMessageDialog(view.getContentPane(), e.getCause().toString(), "Comparison Error", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+		};
+		
+		this.comparisonWorker.addPropertyChangeListener(new PropertyChangeListener() {
+			public void propertyChange(PropertyChangeEvent e) {
+				if("progress".equals(e.getPropertyName())) {
+					view.progressBar.setValue((Integer)e.getNewValue());
+				}
+			}
+		});
+		
+		this.busy = true;
+		this.view.setScheduling(true);
+		this.comparisonWorker.execute();
+	}
+	
+	/**
+	 * Cancels the schedule, the analysis or the comparison being created, if there is one.
+	 */
+	public void cancelSchedule() {
+		if(this.worker != null) {
+			this.worker.cancel(true);
+		}
+		
+		if(this.sensitivityWorker != null) {
+			this.sensitivityWorker.cancel(true);
+		}
+		
+		if(this.comparisonWorker != null) {
+			this.comparisonWorker.cancel(true);
+		}
+	}
+	
+	/**
+	 * Check if a schedule, an analysis or a comparison is being created. A cancelled<br>
+	 * worker is done at once, but its computation runs until it next checks for interruption.
+	 * @return True if a background computation is running, false otherwise
+	 */
+	public boolean isBusy() {
+		return this.busy;
+	}
+	
+	/**
+	 * Enables the controls again once the background computation has returned, called<br>
+	 * from the worker thread when the computation ends, completed or cancelled.
+	 */
+	private void finished() {
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+				busy = false;
+				view.setScheduling(false);
+			}
+		});
+	}
+	
+	/**
+	 * Creates the settings of a schedule from the processors and the policy chosen.<br>
+	 * (m, k)-RMS uses the comparators, which can reuse the last schedule. The runtime<br>
+	 * of every task is measured, since the log shows it.
+	 * @return Settings of the schedule, null if the number of processors is not valid
+	 */
+	private ScheduleOptions getOptions() {
+		ScheduleOptions options = new ScheduleOptions();
+		options.setRecordMetrics(true);
+		
+		try {
+			options.setProcessors(Integer.parseInt(this.view.processorsField.getText().trim()));
+		}
+		catch(IllegalArgumentException e) {
+			JOptionPane.showMessageDialog(this.view.getContentPane(), "Processors must be a whole number of at least 1", "Input Error", JOptionPane.ERROR_MESSAGE);
+			return null;
+		}
+		
+		if(this.view.modeBox.getSelectedItem() instanceof Partitioner) {
+			options.setPartitioner((Partitioner) this.view.modeBox.getSelectedItem());
+		}
+		
+		if(this.view.policyBox.getSelectedItem() != Policy.MK_RMS) {
+			options.setPolicy((Policy) this.view.policyBox.getSelectedItem());
 		}
 		
-		this.view.refreshChartPanel();
+		return options;
 	}
 	
 	/**
@@ -0,0 +1,24 @@
+package generator;
+
+/**
+ * Distribution of the periods of generated tasks.
+ * @author Franklin Nelson
+ *
+ */
+public enum PeriodDistribution {
+	/**
+	 * Periods spread evenly over the orders of magnitude between the shortest and longest period
+	 */
+	LOG_UNIFORM,
+	
+	/**
+	 * Periods are the shortest period times a power of 2, so each period divides every longer one
+	 */
+	HARMONIC,
+	
+	/**
+	 * Periods are divisors of the hyperperiod, so the lcm of the periods never exceeds it. The schedule<br>
+	 * also covers k periods of every task, so it can still be longer with k > 1
+	 */
+	BOUNDED_HYPERPERIOD
+}
@@ -0,0 +1,372 @@
+package generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import task.Task;
+
+/**
+ * Generates reproducible sets of (m, k)-Firm tasks for load and scaling tests.<br>
+ * The total utilization is split between the tasks with UUniFast, each period is drawn<br>
+ * from the period distribution, and each m/k from the k and m/k ranges. Task sets are<br>
+ * generated one at a time, and set i only depends on the seed and i.
+ * @author Franklin Nelson
+ *
+ */
+public class TaskSetGenerator implements Iterator<List<Task>> {
+	/**
+	 * Seed of every task set
+	 */
+	private long seed;
+	
+	/**
+	 * Number of task sets to generate
+	 */
+	private long count;
+	
+	/**
+	 * Index of the next task set
+	 */
+	private long index = 0;
+	
+	/**
+	 * Number of tasks in each set
+	 */
+	private int taskCount = 8;
+	
+	/**
+	 * Smallest and largest total utilization of each set
+	 */
+	private double minUtilization = 0.8, maxUtilization = 0.8;
+	
+	/**
+	 * Distribution of the periods
+	 */
+	private PeriodDistribution periodDistribution = PeriodDistribution.LOG_UNIFORM;
+	
+	/**
+	 * Shortest and longest period
+	 */
+	private long minPeriod = 10, maxPeriod = 1000;
+	
+	/**
+	 * Every period divides this when the periods are BOUNDED_HYPERPERIOD
+	 */
+	private long hyperperiod = 1000;
+	
+	/**
+	 * Periods which divide the hyperperiod, found when first needed
+	 */
+	private List<Long> divisors = null;
+	
+	/**
+	 * Smallest and largest k
+	 */
+	private int minK = 1, maxK = 10;
+	
+	/**
+	 * Smallest and largest ratio m/k
+	 */
+	private double minMK = 0.5, maxMK = 1.0;
+	
+	/**
+	 * Create a generator of task sets.
+	 * @param seed - Seed of every task set
+	 * @param count - Number of task sets to generate
+	 */
+	public TaskSetGenerator(long seed, long count) {
+		this.seed = seed;
+		this.count = count;
+	}
+	
+	/**
+	 * Check if there are task sets left to generate.
+	 */
+	public boolean hasNext() {
+		return index < count;
+	}
+	
+	/**
+	 * Generate the next task set.
+	 */
+	public List<Task> next() {
+		if(!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		
+		return generate(index++);
+	}
+	
+	/**
+	 * Task sets cannot be removed.
+	 */
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+	
+	/**
+	 * Generate a task set. The same index always gives the same task set for the same seed and settings.
+	 * @param index - Index of the task set
+	 * @return List of tasks
+	 */
+	public List<Task> generate(long index) {
+		Random random = new Random(seed + index * 0x9E3779B97F4A7C15L);
+		List<Task> tasks = new ArrayList<Task>(taskCount);
+		double sum = maxUtilization > minUtilization ? minUtilization + (maxUtilization - minUtilization) * random.nextDouble() : minUtilization;
+		
+		for(int i = 0; i < taskCount; i++) {
+			// UUniFast, the utilization left after this task
+			double next = i < taskCount - 1 ? sum * Math.pow(random.nextDouble(), 1.0 / (taskCount - i - 1)) : 0;
+			long p = nextPeriod(random);
+			int k = minK + random.nextInt(maxK - minK + 1);
+			int m = (int)Math.round(k * (minMK + (maxMK - minMK) * random.nextDouble()));
+			
+			tasks.add(new Task("T" + (i + 1), Math.max(1, Math.min(p, Math.round((sum - next) * p))), p, Math.max(1, Math.min(k, m)), k));
+			sum = next;
+		}
+		
+		return tasks;
+	}
+	
+	/**
+	 * Draw a period from the period distribution.
+	 * @param random - Random number generator of the task set
+	 * @return Period
+	 */
+	private long nextPeriod(Random random) {
+		switch(periodDistribution) {
+			case HARMONIC:
+				int powers = 63 - Long.numberOfLeadingZeros(maxPeriod / minPeriod);
+				return minPeriod << random.nextInt(powers + 1);
+			
+			case BOUNDED_HYPERPERIOD:
+				List<Long> divisors = getDivisors();
+				return divisors.get(random.nextInt(divisors.size()));
+			
+			default:
+				double log = Math.log(minPeriod) + (Math.log(maxPeriod) - Math.log(minPeriod)) * random.nextDouble();
+				return Math.max(minPeriod, Math.min(maxPeriod, Math.round(Math.exp(log))));
+		}
+	}
+	
+	/**
+	 * Find every divisor of the hyperperiod between the shortest and longest period.
+	 * @return List of periods, in ascending order
+	 * @throws IllegalStateException if there are none
+	 */
+	private List<Long> getDivisors() {
+		if(divisors == null) {
+			divisors = new ArrayList<Long>();
+			
+			for(long d = 1; d <= hyperperiod / d; d++) {
+				if(hyperperiod % d == 0) {
+					for(long p : new long[] {d, hyperperiod / d}) {
+						if(p >= minPeriod && p <= maxPeriod && !divisors.contains(p)) {
+							divisors.add(p);
+						}
+					}
+				}
+			}
+			
+			Collections.sort(divisors);
+		}
+		
+		if(divisors.isEmpty()) {
+			throw new IllegalStateException("No divisor of " + hyperperiod + " is between " + minPeriod + " and " + maxPeriod);
+		}
+		
+		return divisors;
+	}
+	
+	/**
+	 * Get the number of tasks in each set.
+	 * @return Number of tasks
+	 */
+	public int getTaskCount() {
+		return taskCount;
+	}
+	
+	/**
+	 * Set the number of tasks in each set.
+	 * @param taskCount value of new number of tasks, at least 1
+	 */
+	public void setTaskCount(int taskCount) {
+		if(taskCount < 1) {
+			throw new IllegalArgumentException("taskCount must be at least 1");
+		}
+		
+		this.taskCount = taskCount;
+	}
+	
+	/**
+	 * Get the smallest total utilization of each set.
+	 * @return Smallest total utilization
+	 */
+	public double getMinUtilization() {
+		return minUtilization;
+	}
+	
+	/**
+	 * Get the largest total utilization of each set.
+	 * @return Largest total utilization
+	 */
+	public double getMaxUtilization() {
+		return maxUtilization;
+	}
+	
+	/**
+	 * Set the total utilization of each set. Computation times are rounded to whole<br>
+	 * time units between 1 and the period, so the utilization of a generated set is close to this, not exact.
+	 * @param utilization value of new total utilization, more than 0
+	 */
+	public void setUtilization(double utilization) {
+		setUtilizationRange(utilization, utilization);
+	}
+	
+	/**
+	 * Set the smallest and largest total utilization, each set draws its utilization evenly between them.
+	 * @param minUtilization - Smallest total utilization, more than 0
+	 * @param maxUtilization - Largest total utilization, at least minUtilization
+	 */
+	public void setUtilizationRange(double minUtilization, double maxUtilization) {
+		if(!(minUtilization > 0 && maxUtilization >= minUtilization)) {
+			throw new IllegalArgumentException("Utilization must satisfy 0 < minUtilization <= maxUtilization");
+		}
+		
+		this.minUtilization = minUtilization;
+		this.maxUtilization = maxUtilization;
+	}
+	
+	/**
+	 * Get the distribution of the periods.
+	 * @return Period distribution
+	 */
+	public PeriodDistribution getPeriodDistribution() {
+		return periodDistribution;
+	}
+	
+	/**
+	 * Set the distribution of the periods.
+	 * @param periodDistribution value of new period distribution
+	 */
+	public void setPeriodDistribution(PeriodDistribution periodDistribution) {
+		this.periodDistribution = periodDistribution;
+	}
+	
+	/**
+	 * Get the shortest period.
+	 * @return Shortest period
+	 */
+	public long getMinPeriod() {
+		return minPeriod;
+	}
+	
+	/**
+	 * Get the longest period.
+	 * @return Longest period
+	 */
+	public long getMaxPeriod() {
+		return maxPeriod;
+	}
+	
+	/**
+	 * Set the shortest and longest period.
+	 * @param minPeriod - Shortest period, at least 1
+	 * @param maxPeriod - Longest period, at least minPeriod
+	 */
+	public void setPeriodRange(long minPeriod, long maxPeriod) {
+		if(minPeriod < 1 || maxPeriod < minPeriod) {
+			throw new IllegalArgumentException("Periods must satisfy 1 <= minPeriod <= maxPeriod");
+		}
+		
+		this.minPeriod = minPeriod;
+		this.maxPeriod = maxPeriod;
+		this.divisors = null;
+	}
+	
+	/**
+	 * Get the value every period divides when the periods are BOUNDED_HYPERPERIOD.
+	 * @return Hyperperiod
+	 */
+	public long getHyperperiod() {
+		return hyperperiod;
+	}
+	
+	/**
+	 * Set the value every period divides when the periods are BOUNDED_HYPERPERIOD.
+	 * @param hyperperiod value of new hyperperiod, at least 1
+	 */
+	public void setHyperperiod(long hyperperiod) {
+		if(hyperperiod < 1) {
+			throw new IllegalArgumentException("hyperperiod must be at least 1");
+		}
+		
+		this.hyperperiod = hyperperiod;
+		this.divisors = null;
+	}
+	
+	/**
+	 * Get the smallest k.
+	 * @return Smallest k
+	 */
+	public int getMinK() {
+		return minK;
+	}
+	
+	/**
+	 * Get the largest k.
+	 * @return Largest k
+	 */
+	public int getMaxK() {
+		return maxK;
+	}
+	
+	/**
+	 * Set the smallest and largest k, each task draws k evenly between them.
+	 * @param minK - Smallest k, at least 1
+	 * @param maxK - Largest k, at least minK
+	 */
+	public void setKRange(int minK, int maxK) {
+		if(minK < 1 || maxK < minK) {
+			throw new IllegalArgumentException("k must satisfy 1 <= minK <= maxK");
+		}
+		
+		this.minK = minK;
+		this.maxK = maxK;
+	}
+	
+	/**
+	 * Get the smallest ratio m/k.
+	 * @return Smallest m/k
+	 */
+	public double getMinMK() {
+		return minMK;
+	}
+	
+	/**
+	 * Get the largest ratio m/k.
+	 * @return Largest m/k
+	 */
+	public double getMaxMK() {
+		return maxMK;
+	}
+	
+	/**
+	 * Set the smallest and largest ratio m/k, each task draws m/k evenly between them.<br>
+	 * m is rounded to a whole number between 1 and k.
+	 * @param minMK - Smallest m/k, between 0 and 1
+	 * @param maxMK - Largest m/k, between minMK and 1
+	 */
+	public void setMKRange(double minMK, double maxMK) {
+		if(!(minMK >= 0 && minMK <= maxMK && maxMK <= 1)) {
+			throw new IllegalArgumentException("m/k must satisfy 0 <= minMK <= maxMK <= 1");
+		}
+		
+		this.minMK = minMK;
+		this.maxMK = maxMK;
+	}
+}
@@ -0,0 +1,170 @@
+package scheduler;
+
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Bin packing heuristics which assign tasks to processors by their mandatory utilization<br>
+ * m * C / (k * P), the share of a processor every window of k instances needs. Tasks are<br>
+ * placed from the largest to the smallest, and each processor holds a utilization of at most 1.<br>
+ * A task which fits on no processor is placed on the processor with the least utilization.
+ * @author Franklin Nelson
+ *
+ */
+public enum BinPacking implements Partitioner {
+	/**
+	 * Each task goes on the first processor it fits on
+	 */
+	FIRST_FIT("First Fit") {
+		protected int choose(double[] load, double utilization, int last) {
+			for(int i = 0; i < load.length; i++) {
+				if(fits(load[i], utilization)) {
+					return i;
+				}
+			}
+			
+			return -1;
+		}
+	},
+	
+	/**
+	 * Each task goes on the processor it fits on with the least room left
+	 */
+	BEST_FIT("Best Fit") {
+		protected int choose(double[] load, double utilization, int last) {
+			int best = -1;
+			
+			for(int i = 0; i < load.length; i++) {
+				if(fits(load[i], utilization) && (best < 0 || load[i] > load[best])) {
+					best = i;
+				}
+			}
+			
+			return best;
+		}
+	},
+	
+	/**
+	 * Each task goes on the processor with the most room left, which spreads the load evenly
+	 */
+	WORST_FIT("Worst Fit") {
+		protected int choose(double[] load, double utilization, int last) {
+			int worst = leastLoaded(load);
+			return fits(load[worst], utilization) ? worst : -1;
+		}
+	},
+	
+	/**
+	 * Each task goes on the processor of the task before it, or the next processor if it does not fit
+	 */
+	NEXT_FIT("Next Fit") {
+		protected int choose(double[] load, double utilization, int last) {
+			for(int i = last; i < load.length; i++) {
+				if(fits(load[i], utilization)) {
+					return i;
+				}
+			}
+			
+			return -1;
+		}
+	};
+	
+	/**
+	 * Room left for rounding errors when adding utilizations
+	 */
+	private static final double EPSILON = 1e-9;
+	
+	/**
+	 * Name shown to the user
+	 */
+	private String name;
+	
+	/**
+	 * Create a heuristic with the name shown to the user.
+	 * @param name - Name shown to the user
+	 */
+	private BinPacking(String name) {
+		this.name = name;
+	}
+	
+	/**
+	 * Choose the processor of the next task.
+	 * @param load - Utilization of each processor so far
+	 * @param utilization - Mandatory utilization of the task
+	 * @param last - Processor of the task placed before it
+	 * @return Processor of the task, -1 if it fits on none
+	 */
+	protected abstract int choose(double[] load, double utilization, int last);
+	
+	/**
+	 * Assign every task to a processor, from the largest to the smallest mandatory utilization.
+	 */
+	public int[] partition(List<Task> tasks, int processors) {
+		double[] utilization = new double[tasks.size()], load = new double[processors];
+		int[] order = new int[tasks.size()], processor = new int[tasks.size()];
+		
+		for(int i = 0; i < tasks.size(); i++) {
+			Task task = tasks.get(i);
+			utilization[i] = (double)task.getM() * task.getC() / ((double)task.getK() * task.getP());
+			
+			// Insertion sort by decreasing utilization, equal tasks keep their order
+			int j = i;
+			for(; j > 0 && utilization[order[j - 1]] < utilization[i]; j--) {
+				order[j] = order[j - 1];
+			}
+			
+			order[j] = i;
+		}
+		
+		int last = 0;
+		
+		for(int i : order) {
+			int chosen = choose(load, utilization[i], last);
+			
+			if(chosen < 0) {
+				chosen = leastLoaded(load);
+			}
+			
+			processor[i] = chosen;
+			load[chosen] += utilization[i];
+			last = chosen;
+		}
+		
+		return processor;
+	}
+	
+	/**
+	 * Check if a task fits on a processor.
+	 * @param load - Utilization of the processor
+	 * @param utilization - Mandatory utilization of the task
+	 * @return True if the processor stays at or below a utilization of 1
+	 */
+	private static boolean fits(double load, double utilization) {
+		return load + utilization <= 1 + EPSILON;
+	}
+	
+	/**
+	 * Find the processor with the least utilization.
+	 * @param load - Utilization of each processor
+	 * @return First processor with the least utilization
+	 */
+	private static int leastLoaded(double[] load) {
+		int least = 0;
+		
+		for(int i = 1; i < load.length; i++) {
+			if(load[i] < load[least]) {
+				least = i;
+			}
+		}
+		
+		return least;
+	}
+	
+	/**
+	 * Returns the name of the heuristic shown to the user.
+	 */
+	public String toString() {
+		return name;
+	}
+}
@@ -0,0 +1,158 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Class holding the schedules of one set of tasks with several policies, in the order<br>
+ * the policies were given, with a side-by-side table of their outcomes.
+ * @author Franklin Nelson
+ *
+ */
+public class ComparisonResult {
+	/**
+	 * Tasks in priority order
+	 */
+	private List<Task> tasks;
+	
+	/**
+	 * Name of each policy
+	 */
+	private List<String> names;
+	
+	/**
+	 * Schedule of each policy
+	 */
+	private List<ScheduleResult> results;
+	
+	/**
+	 * Create the result of a comparison.
+	 * @param tasks - Tasks in priority order
+	 * @param names - Name of each policy
+	 * @param results - Schedule of each policy, in the same order
+	 */
+	ComparisonResult(List<Task> tasks, List<String> names, List<ScheduleResult> results) {
+		this.tasks = Collections.unmodifiableList(new ArrayList<Task>(tasks));
+		this.names = Collections.unmodifiableList(new ArrayList<String>(names));
+		this.results = Collections.unmodifiableList(new ArrayList<ScheduleResult>(results));
+	}
+	
+	/**
+	 * Get the tasks in priority order. Task indexes used in the schedules refer to this list.
+	 * @return List of tasks
+	 */
+	public List<Task> getTasks() {
+		return tasks;
+	}
+	
+	/**
+	 * Get the number of policies compared.
+	 * @return Number of policies
+	 */
+	public int getPolicyCount() {
+		return results.size();
+	}
+	
+	/**
+	 * Get the name of a policy.
+	 * @param policy - Index of the policy
+	 * @return Name of the policy
+	 */
+	public String getName(int policy) {
+		return names.get(policy);
+	}
+	
+	/**
+	 * Get the schedule of the tasks with a policy.
+	 * @param policy - Index of the policy
+	 * @return Result of the schedule
+	 */
+	public ScheduleResult getResult(int policy) {
+		return results.get(policy);
+	}
+	
+	/**
+	 * Returns a table with one column per policy: the verdict, the first mandatory miss, the<br>
+	 * deadline misses, the MQR, the first (m, k) violation and the context switches and<br>
+	 * preemptions of every schedule, followed by the MQR and deadline misses of every task.
+	 */
+	public String toString() {
+		int n = tasks.size(), count = results.size();
+		String[][] rows = new String[8 + 2 * n][count + 1];
+		rows[0][0] = "Policy";
+		rows[1][0] = "Verdict";
+		rows[2][0] = "First mandatory miss";
+		rows[3][0] = "Mandatory misses";
+		rows[4][0] = "Optional misses";
+		rows[5][0] = "Average MQR";
+		rows[6][0] = "First (m, k) violation";
+		rows[7][0] = "Context switches";
+		
+		for(int i = 0; i < n; i++) {
+			rows[8 + 2 * i][0] = tasks.get(i).getName() + " MQR";
+			rows[9 + 2 * i][0] = tasks.get(i).getName() + " misses";
+		}
+		
+		for(int j = 0; j < count; j++) {
+			ScheduleResult result = results.get(j);
+			ScheduleMetrics metrics = result.getMetrics();
+			DeadlineMiss first = result.getFirstMandatoryMiss();
+			ConstraintViolation violation = result.getFirstViolation();
+			long mandatory = 0;
+			long[] misses = new long[n];
+			
+			for(DeadlineMiss miss : result.getDeadlineMisses()) {
+				mandatory += miss.isMandatory() ? 1 : 0;
+				misses[miss.getTask()]++;
+			}
+			
+			long preemptions = 0;
+			if(metrics != null) {
+				for(int i = 0; i < n; i++) {
+					preemptions += metrics.getPreemptions(i);
+				}
+			}
+			
+			rows[0][j + 1] = names.get(j);
+			rows[1][j + 1] = result.isSucceeded() ? "feasible" : "infeasible";
+			rows[2][j + 1] = first != null ? String.valueOf(first.getTime()) : "-";
+			rows[3][j + 1] = String.valueOf(mandatory);
+			rows[4][j + 1] = String.valueOf(result.getDeadlineMisses().size() - mandatory);
+			rows[5][j + 1] = String.format("%.4f", result.getAverageMQR());
+			rows[6][j + 1] = violation != null ? String.valueOf(violation.getTime()) : "-";
+			rows[7][j + 1] = metrics != null ? metrics.getContextSwitches() + " (" + preemptions + " pre.)" : "-";
+			
+			for(int i = 0; i < n; i++) {
+				rows[8 + 2 * i][j + 1] = result.hasMQR(i) ? String.format("%.4f", result.getMQR(i)) : "-";
+				rows[9 + 2 * i][j + 1] = String.valueOf(misses[i]);
+			}
+		}
+		
+		// Every column is as wide as its widest cell
+		int[] widths = new int[count + 1];
+		for(String[] row : rows) {
+			for(int j = 0; j <= count; j++) {
+				widths[j] = Math.max(widths[j], row[j].length());
+			}
+		}
+		
+		StringBuilder table = new StringBuilder();
+		
+		for(int r = 0; r < rows.length; r++) {
+			table.append(String.format("%-" + widths[0] + "s", rows[r][0]));
+			
+			for(int j = 1; j <= count; j++) {
+				table.append(String.format("   %" + widths[j] + "s", rows[r][j]));
+			}
+			
+			if(r < rows.length - 1) {
+				table.append(String.format("%n"));
+			}
+		}
+		
+		return table.toString();
+	}
+}
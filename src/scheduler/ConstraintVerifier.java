@@ -0,0 +1,135 @@
+package scheduler;
+
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Checks that every window of k consecutive instances of a task met at least m deadlines,<br>
+ * from the deadline misses of the schedule. An instance which did not miss its deadline<br>
+ * completed before it, so the misses of a task are enough to know every outcome. The last<br>
+ * k outcomes of each task are kept in a ring of bits with a count of the misses in it, so<br>
+ * each outcome is checked in O(1). Outcomes are only added when a miss needs them.
+ * @author Franklin Nelson
+ *
+ */
+class ConstraintVerifier {
+	/**
+	 * Period, window size and most misses allowed in a window of every task
+	 */
+	private long[] p;
+	private int[] k, allowed;
+	
+	/**
+	 * Outcome of the last k instances of every task, a set bit is a miss
+	 */
+	private long[][] ring;
+	
+	/**
+	 * Number of bits used in the ring of every task
+	 */
+	private int[] size;
+	
+	/**
+	 * Number of the next instance to add
+	 */
+	private long[] next;
+	
+	/**
+	 * Number of misses in the ring of every task
+	 */
+	private int[] misses;
+	
+	/**
+	 * First window which broke its constraint, null if there is none
+	 */
+	private ConstraintViolation violation;
+	
+	/**
+	 * Create a verifier with no outcomes.
+	 * @param tasks - Tasks in the order they are scheduled, with the m and k which are checked
+	 * @param length - Length of the schedule
+	 */
+	ConstraintVerifier(List<Task> tasks, long length) {
+		int n = tasks.size();
+		this.p = new long[n];
+		this.k = new int[n];
+		this.allowed = new int[n];
+		this.ring = new long[n][];
+		this.size = new int[n];
+		this.next = new long[n];
+		this.misses = new int[n];
+		
+		for(int i = 0; i < n; i++) {
+			Task task = tasks.get(i);
+			p[i] = task.getP();
+			k[i] = task.getK();
+			allowed[i] = task.getK() - task.getM();
+			
+			// A window longer than the schedule never moves, so it only needs a bit per instance
+			size[i] = (int)Math.min(task.getK(), length / task.getP() + 1);
+			ring[i] = new long[(size[i] + 63) / 64];
+		}
+	}
+	
+	/**
+	 * Add a task instance which missed its deadline, and every instance before it which did not.
+	 * @param task - Index of the task
+	 * @param time - Time of the missed deadline
+	 */
+	void deadlineMissed(int task, long time) {
+		long instance = time / p[task] - 1, met = instance - next[task];
+		
+		// A whole window of met deadlines clears the ring
+		if(met >= size[task]) {
+			for(int i = 0; i < ring[task].length; i++) {
+				ring[task][i] = 0;
+			}
+			
+			misses[task] = 0;
+			next[task] = instance;
+		}
+		else {
+			for(; met > 0; met--) {
+				add(task, false);
+			}
+		}
+		
+		add(task, true);
+		
+		// The window of the first k instances is broken as soon as it has too many misses
+		if(misses[task] > allowed[task] && violation == null) {
+			long first = Math.max(0, instance - k[task] + 1);
+			violation = new ConstraintViolation(task, first, first + k[task] - 1, time);
+		}
+	}
+	
+	/**
+	 * Add the outcome of the next instance of a task, replacing the outcome k instances before.
+	 * @param task - Index of the task
+	 * @param missed - True if the instance missed its deadline
+	 */
+	private void add(int task, boolean missed) {
+		int bit = (int)(next[task]++ % size[task]);
+		long mask = 1L << bit;
+		long[] words = ring[task];
+		
+		if((words[bit >>> 6] & mask) != 0) {
+			words[bit >>> 6] &= ~mask;
+			misses[task]--;
+		}
+		
+		if(missed) {
+			words[bit >>> 6] |= mask;
+			misses[task]++;
+		}
+	}
+	
+	/**
+	 * Get the first window which broke its constraint.
+	 * @return First constraint violation, null if every window met its constraint
+	 */
+	ConstraintViolation getViolation() {
+		return violation;
+	}
+}
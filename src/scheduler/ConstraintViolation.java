@@ -0,0 +1,77 @@
+package scheduler;
+
+/**
+ * Class representing k consecutive instances of a task which met fewer than m deadlines.
+ * @author Franklin Nelson
+ *
+ */
+public class ConstraintViolation {
+	/**
+	 * Index of the task in the schedule
+	 */
+	private int task;
+	
+	/**
+	 * Numbers of the first and last instance of the window, counted from 0 at time 0
+	 */
+	private long first, last;
+	
+	/**
+	 * Time of the missed deadline which broke the constraint
+	 */
+	private long time;
+	
+	/**
+	 * Create a new constraint violation.
+	 * @param task - Index of the task in the schedule
+	 * @param first - Number of the first instance of the window
+	 * @param last - Number of the last instance of the window
+	 * @param time - Time of the missed deadline which broke the constraint
+	 */
+	public ConstraintViolation(int task, long first, long last, long time) {
+		this.task = task;
+		this.first = first;
+		this.last = last;
+		this.time = time;
+	}
+	
+	/**
+	 * Get the index of the task which broke its constraint, in the order of the schedule.
+	 * @return Index of task
+	 */
+	public int getTask() {
+		return task;
+	}
+	
+	/**
+	 * Get the number of the first instance of the window, released at first * P.
+	 * @return Number of the first instance
+	 */
+	public long getFirst() {
+		return first;
+	}
+	
+	/**
+	 * Get the number of the last instance of the window. The window may reach past the end<br>
+	 * of the schedule, when too many of the first instances of a task missed their deadlines.
+	 * @return Number of the last instance
+	 */
+	public long getLast() {
+		return last;
+	}
+	
+	/**
+	 * Get the time of the missed deadline which broke the constraint.
+	 * @return Time of deadline
+	 */
+	public long getTime() {
+		return time;
+	}
+	
+	/**
+	 * Returns a string with the format 'task[first..last] broken at time'.
+	 */
+	public String toString() {
+		return task + "[" + first + ".." + last + "] broken at " + time;
+	}
+}
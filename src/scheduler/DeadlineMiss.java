@@ -0,0 +1,83 @@
+package scheduler;
+
+/**
+ * Class representing a task instance which missed its deadline.
+ * @author Franklin Nelson
+ *
+ */
+public class DeadlineMiss {
+	/**
+	 * Index of the task in the schedule
+	 */
+	private int task;
+	
+	/**
+	 * Instance Number
+	 */
+	private long a;
+	
+	/**
+	 * Time of the missed deadline
+	 */
+	private long time;
+	
+	/**
+	 * True - Mandatory<br>
+	 * False - Optional
+	 */
+	private boolean isMandatory;
+	
+	/**
+	 * Create a new deadline miss.
+	 * @param task - Index of the task in the schedule
+	 * @param a - Instance Number
+	 * @param time - Time of the missed deadline
+	 * @param isMandatory - True if the task instance was mandatory
+	 */
+	public DeadlineMiss(int task, long a, long time, boolean isMandatory) {
+		this.task = task;
+		this.a = a;
+		this.time = time;
+		this.isMandatory = isMandatory;
+	}
+	
+	/**
+	 * Get the index of the task which missed its deadline, in the order of the schedule.
+	 * @return Index of task
+	 */
+	public int getTask() {
+		return task;
+	}
+	
+	/**
+	 * Get the instance number of the task instance which missed its deadline.
+	 * @return Value of instance number
+	 */
+	public long getA() {
+		return a;
+	}
+	
+	/**
+	 * Get the time of the missed deadline.
+	 * @return Time of deadline
+	 */
+	public long getTime() {
+		return time;
+	}
+	
+	/**
+	 * Get the status of the task instance as mandatory or not.<br>
+	 * Only mandatory misses make the schedule fail.
+	 * @return True if mandatory, false if optional
+	 */
+	public boolean isMandatory() {
+		return isMandatory;
+	}
+	
+	/**
+	 * Returns a string with the format 'task[a] missed at time'.
+	 */
+	public String toString() {
+		return task + "[" + a + "] missed at " + time;
+	}
+}
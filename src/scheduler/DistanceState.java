@@ -0,0 +1,129 @@
+package scheduler;
+
+import java.util.List;
+
+import task.Task;
+
+/**
+ * State of distance-based priority, which keeps the outcome of the last k instances of every<br>
+ * task. The key of an instance is the number of consecutive deadline misses, starting with it,<br>
+ * which would break the (m, k) constraint of its task. Instances before time 0 count as met.
+ * @author Franklin Nelson
+ *
+ */
+class DistanceState implements PolicyState {
+	/**
+	 * Window size and most misses allowed in a window of every task
+	 */
+	private int[] k, allowed;
+	
+	/**
+	 * Outcome of the last instances of every task, a set bit is a miss
+	 */
+	private long[][] ring;
+	
+	/**
+	 * Number of bits used in the ring of every task
+	 */
+	private int[] size;
+	
+	/**
+	 * Number of outcomes added for every task
+	 */
+	private long[] count;
+	
+	/**
+	 * Number of misses in the last k outcomes of every task
+	 */
+	private int[] misses;
+	
+	/**
+	 * Create the state of a schedule with no outcomes.
+	 * @param tasks - Tasks in the order they are scheduled, with the m and k which are kept
+	 * @param length - Length of the schedule
+	 */
+	DistanceState(List<Task> tasks, long length) {
+		int n = tasks.size();
+		this.k = new int[n];
+		this.allowed = new int[n];
+		this.ring = new long[n][];
+		this.size = new int[n];
+		this.count = new long[n];
+		this.misses = new int[n];
+		
+		for(int i = 0; i < n; i++) {
+			Task task = tasks.get(i);
+			k[i] = task.getK();
+			allowed[i] = task.getK() - task.getM();
+			
+			// A window longer than the schedule never moves, so it only needs a bit per instance
+			size[i] = (int)Math.min(task.getK(), length / task.getP() + 1);
+			ring[i] = new long[(size[i] + 63) / 64];
+		}
+	}
+	
+	/**
+	 * Returns the number of consecutive misses which break the constraint of the task,<br>
+	 * 0 if it is already broken and k + 1 if no number of misses can break it.
+	 */
+	public long getPriority(int slot, long a, long deadline, boolean isMandatory) {
+		int window = misses[slot];
+		
+		if(window > allowed[slot]) {
+			return 0;
+		}
+		
+		// Each miss adds one to the window, and takes out its oldest outcome
+		int recorded = (int)Math.min(count[slot], size[slot]), needed = allowed[slot] - window + 1;
+		
+		// Outcomes older than the ones recorded were all met
+		if(needed <= k[slot] - recorded) {
+			return needed;
+		}
+		
+		long distance = k[slot] - recorded;
+		needed -= k[slot] - recorded;
+		
+		for(long instance = count[slot] - recorded; instance < count[slot]; instance++) {
+			distance++;
+			
+			if(!isMissed(slot, instance) && --needed == 0) {
+				return distance;
+			}
+		}
+		
+		return k[slot] + 1;
+	}
+	
+	/**
+	 * Adds the outcome of the instance, replacing the outcome k instances before.
+	 */
+	public void instanceFinished(int slot, long a, boolean met) {
+		long oldest = count[slot] - k[slot];
+		
+		if(oldest >= 0 && isMissed(slot, oldest)) {
+			misses[slot]--;
+		}
+		
+		int bit = (int)(count[slot]++ % size[slot]);
+		
+		if(met) {
+			ring[slot][bit >>> 6] &= ~(1L << bit);
+		}
+		else {
+			ring[slot][bit >>> 6] |= 1L << bit;
+			misses[slot]++;
+		}
+	}
+	
+	/**
+	 * Check if a recorded instance of a task missed its deadline.
+	 * @param slot - Slot of the task
+	 * @param instance - Number of the outcome, one of the last size outcomes
+	 * @return True if the instance missed its deadline
+	 */
+	private boolean isMissed(int slot, long instance) {
+		int bit = (int)(instance % size[slot]);
+		return (ring[slot][bit >>> 6] & (1L << bit)) != 0;
+	}
+}
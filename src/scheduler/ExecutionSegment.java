@@ -0,0 +1,108 @@
+package scheduler;
+
+/**
+ * Class representing a continuous stretch of time in which one task instance executed.
+ * @author Franklin Nelson
+ *
+ */
+public class ExecutionSegment {
+	/**
+	 * Index of the task in the schedule
+	 */
+	private int task;
+	
+	/**
+	 * Start Time
+	 */
+	private long start;
+	
+	/**
+	 * End Time
+	 */
+	private long end;
+	
+	/**
+	 * True - Mandatory<br>
+	 * False - Optional
+	 */
+	private boolean isMandatory;
+	
+	/**
+	 * Processor which executed the task instance
+	 */
+	private int core;
+	
+	/**
+	 * Create a new execution segment on the first processor.
+	 * @param task - Index of the task in the schedule
+	 * @param start - Start Time
+	 * @param end - End Time
+	 * @param isMandatory - True if the executed task instance was mandatory
+	 */
+	public ExecutionSegment(int task, long start, long end, boolean isMandatory) {
+		this(task, start, end, isMandatory, 0);
+	}
+	
+	/**
+	 * Create a new execution segment.
+	 * @param task - Index of the task in the schedule
+	 * @param start - Start Time
+	 * @param end - End Time
+	 * @param isMandatory - True if the executed task instance was mandatory
+	 * @param core - Processor which executed the task instance
+	 */
+	public ExecutionSegment(int task, long start, long end, boolean isMandatory, int core) {
+		this.task = task;
+		this.start = start;
+		this.end = end;
+		this.isMandatory = isMandatory;
+		this.core = core;
+	}
+	
+	/**
+	 * Get the index of the task which executed, in the order of the schedule.
+	 * @return Index of task
+	 */
+	public int getTask() {
+		return task;
+	}
+	
+	/**
+	 * Get the time the task instance started executing.
+	 * @return Start time
+	 */
+	public long getStart() {
+		return start;
+	}
+	
+	/**
+	 * Get the time the task instance stopped executing.
+	 * @return End time
+	 */
+	public long getEnd() {
+		return end;
+	}
+	
+	/**
+	 * Get the status of the executed task instance as mandatory or not.
+	 * @return True if mandatory, false if optional
+	 */
+	public boolean isMandatory() {
+		return isMandatory;
+	}
+	
+	/**
+	 * Get the processor which executed the task instance.
+	 * @return Index of the processor, 0 if there is only one
+	 */
+	public int getCore() {
+		return core;
+	}
+	
+	/**
+	 * Returns a string with the format 'task [start, end)'.
+	 */
+	public String toString() {
+		return task + " [" + start + ", " + end + ")";
+	}
+}
@@ -0,0 +1,196 @@
+package scheduler;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Histogram of non-negative values with a fixed number of buckets, so recording a value<br>
+ * never allocates. Values below 64 have a bucket each, larger values share buckets 1/32<br>
+ * as wide as the value, so percentiles are within about 3% of the recorded values.<br>
+ * The count, total, lowest and highest value are exact.
+ * @author Franklin Nelson
+ *
+ */
+public class Histogram {
+	/**
+	 * Number of bits of a value which choose its bucket within a power of two
+	 */
+	private static final int SUB_BITS = 5;
+	
+	/**
+	 * Number of buckets per power of two
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	
+	/**
+	 * Number of values in each bucket
+	 */
+	private long[] counts;
+	
+	/**
+	 * Number of values, sum of the values, lowest and highest value
+	 */
+	private long count = 0, total = 0, min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+	
+	/**
+	 * Create an empty histogram.
+	 * @param highest - Highest value which will be recorded
+	 */
+	Histogram(long highest) {
+		this.counts = new long[bucket(Math.max(highest, 0)) + 1];
+	}
+	
+	/**
+	 * Find the bucket of a value.
+	 * @param value - Non-negative value
+	 * @return Index of the bucket
+	 */
+	private static int bucket(long value) {
+		if(value < SUB_BUCKETS) {
+			return (int)value;
+		}
+		
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int)(value >>> shift) - SUB_BUCKETS;
+	}
+	
+	/**
+	 * Find the highest value of a bucket.
+	 * @param bucket - Index of the bucket
+	 * @return Highest value which is stored in the bucket
+	 */
+	private static long highestValue(int bucket) {
+		if(bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		
+		int shift = bucket / SUB_BUCKETS - 1;
+		return ((long)(bucket % SUB_BUCKETS + SUB_BUCKETS) << shift) + (1L << shift) - 1;
+	}
+	
+	/**
+	 * Add a value to the histogram.
+	 * @param value - Value between 0 and the highest value given when created
+	 */
+	void record(long value) {
+		counts[bucket(value)]++;
+		count++;
+		total += value;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+	
+	/**
+	 * Get the number of values recorded.
+	 * @return Number of values
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * Get the sum of the values recorded.
+	 * @return Sum of the values
+	 */
+	public long getTotal() {
+		return total;
+	}
+	
+	/**
+	 * Get the lowest value recorded.
+	 * @return Lowest value, 0 if there are none
+	 */
+	public long getMin() {
+		return count > 0 ? min : 0;
+	}
+	
+	/**
+	 * Get the highest value recorded.
+	 * @return Highest value, 0 if there are none
+	 */
+	public long getMax() {
+		return count > 0 ? max : 0;
+	}
+	
+	/**
+	 * Get the average of the values recorded.
+	 * @return Average value, 0.0 if there are none
+	 */
+	public double getMean() {
+		return count > 0 ? (double)total / count : 0.0;
+	}
+	
+	/**
+	 * Get the value which a share of the recorded values are at or below.
+	 * @param percentile - Share of the values, between 0 and 100
+	 * @return Highest value of the bucket holding the percentile, 0 if there are none
+	 * @throws IllegalArgumentException if the percentile is not between 0 and 100
+	 */
+	public long getPercentile(double percentile) {
+		if(percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("percentile must be between 0 and 100");
+		}
+		
+		if(count == 0) {
+			return 0;
+		}
+		
+		long rank = Math.max(1, (long)Math.ceil(percentile / 100 * count)), seen = 0;
+		
+		for(int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			
+			if(seen >= rank) {
+				return Math.max(Math.min(highestValue(i), max), min);
+			}
+		}
+		
+		return max;
+	}
+	
+	/**
+	 * Write the values of this histogram.
+	 * @param out - Output to write to
+	 * @throws IOException if the histogram cannot be written
+	 */
+	void write(DataOutput out) throws IOException {
+		out.writeLong(count);
+		out.writeLong(total);
+		out.writeLong(min);
+		out.writeLong(max);
+		out.writeInt(counts.length);
+		
+		for(long bucketCount : counts) {
+			out.writeLong(bucketCount);
+		}
+	}
+	
+	/**
+	 * Read a histogram written by write.
+	 * @param in - Input to read from
+	 * @return Histogram with the same values
+	 * @throws IOException if the histogram cannot be read
+	 */
+	static Histogram read(DataInput in) throws IOException {
+		Histogram histogram = new Histogram(0);
+		histogram.count = in.readLong();
+		histogram.total = in.readLong();
+		histogram.min = in.readLong();
+		histogram.max = in.readLong();
+		histogram.counts = new long[in.readInt()];
+		
+		for(int i = 0; i < histogram.counts.length; i++) {
+			histogram.counts[i] = in.readLong();
+		}
+		
+		return histogram;
+	}
+	
+	/**
+	 * Returns a string with the average, 50th, 95th, 99th percentile and highest value.
+	 */
+	public String toString() {
+		return String.format("avg %.2f, p50 %d, p95 %d, p99 %d, max %d", getMean(), getPercentile(50), getPercentile(95), getPercentile(99), getMax());
+	}
+}
@@ -0,0 +1,193 @@
+package scheduler;
+
+/**
+ * Binary heap of slot numbers (0 to capacity - 1) which keeps track of where<br>
+ * every slot is stored, so any slot can be added, removed or moved in O(log n).
+ * @author Franklin Nelson
+ *
+ */
+public abstract class IndexedHeap {
+	/**
+	 * Slots in heap order
+	 */
+	private int[] heap;
+	
+	/**
+	 * Position of each slot in the heap, -1 if the slot is not in the heap
+	 */
+	private int[] position;
+	
+	/**
+	 * Number of slots in the heap
+	 */
+	private int size;
+	
+	/**
+	 * Create an empty heap for the slots 0 to capacity - 1.
+	 * @param capacity - Number of slots
+	 */
+	public IndexedHeap(int capacity) {
+		this.heap = new int[capacity];
+		this.position = new int[capacity];
+		this.size = 0;
+		
+		for(int i = 0; i < capacity; i++) {
+			position[i] = -1;
+		}
+	}
+	
+	/**
+	 * Check if the first slot belongs closer to the top of the heap than the second slot.
+	 * @param slot1 - First slot
+	 * @param slot2 - Second slot
+	 * @return True if slot1 comes before slot2, false otherwise
+	 */
+	protected abstract boolean isBefore(int slot1, int slot2);
+	
+	/**
+	 * Get the number of slots this heap was created for.
+	 * @return Number of slots
+	 */
+	public int capacity() {
+		return position.length;
+	}
+	
+	/**
+	 * Get the number of slots in the heap.
+	 * @return Number of slots in the heap
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Check if the heap is empty.
+	 * @return True if there are no slots in the heap, false otherwise
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Check if the slot is in the heap.
+	 * @param slot to check
+	 * @return True if the slot is in the heap, false otherwise
+	 */
+	public boolean contains(int slot) {
+		return position[slot] >= 0;
+	}
+	
+	/**
+	 * Get the slot at the top of the heap.
+	 * @return Slot at the top of the heap, -1 if the heap is empty
+	 */
+	public int peek() {
+		return size > 0 ? heap[0] : -1;
+	}
+	
+	/**
+	 * Add a slot to the heap.
+	 * @param slot to add
+	 */
+	public void add(int slot) {
+		if(contains(slot)) {
+			update(slot);
+			return;
+		}
+		
+		heap[size] = slot;
+		position[slot] = size;
+		siftUp(size++);
+	}
+	
+	/**
+	 * Remove a slot from the heap.
+	 * @param slot to remove
+	 */
+	public void remove(int slot) {
+		int pos = position[slot];
+		
+		if(pos < 0) {
+			return;
+		}
+		
+		position[slot] = -1;
+		
+		if(pos == --size) {
+			return;
+		}
+		
+		heap[pos] = heap[size];
+		position[heap[pos]] = pos;
+		
+		siftDown(pos);
+		siftUp(pos);
+	}
+	
+	/**
+	 * Restore the heap order after the key of one slot has changed.
+	 * @param slot which changed
+	 */
+	public void update(int slot) {
+		int pos = position[slot];
+		
+		if(pos >= 0) {
+			siftDown(pos);
+			siftUp(position[slot]);
+		}
+	}
+	
+	/**
+	 * Move the slot at the given position up until its parent comes before it.
+	 * @param pos - Position in the heap
+	 */
+	private void siftUp(int pos) {
+		int slot = heap[pos];
+		
+		while(pos > 0) {
+			int parent = (pos - 1) >>> 1;
+			
+			if(!isBefore(slot, heap[parent])) {
+				break;
+			}
+			
+			heap[pos] = heap[parent];
+			position[heap[pos]] = pos;
+			pos = parent;
+		}
+		
+		heap[pos] = slot;
+		position[slot] = pos;
+	}
+	
+	/**
+	 * Move the slot at the given position down until it comes before both children.
+	 * @param pos - Position in the heap
+	 */
+	private void siftDown(int pos) {
+		int slot = heap[pos];
+		
+		while(true) {
+			int child = 2 * pos + 1;
+			
+			if(child >= size) {
+				break;
+			}
+			
+			if(child + 1 < size && isBefore(heap[child + 1], heap[child])) {
+				child++;
+			}
+			
+			if(!isBefore(heap[child], slot)) {
+				break;
+			}
+			
+			heap[pos] = heap[child];
+			position[heap[pos]] = pos;
+			pos = child;
+		}
+		
+		heap[pos] = slot;
+		position[slot] = pos;
+	}
+}
@@ -0,0 +1,293 @@
+package scheduler;
+
+import java.util.List;
+
+import task.Task;
+import task.TaskInstance;
+
+/**
+ * Struct-of-arrays state of the current instance of every task, with one slot per task.<br>
+ * Instances are replaced in place, so no objects are created while scheduling. Each slot<br>
+ * also keeps one reusable TaskInstance with the same values for the task instance comparator,<br>
+ * or the priority key of a scheduling policy.
+ * @author Franklin Nelson
+ *
+ */
+public class InstanceTable {
+	/**
+	 * Task of each slot
+	 */
+	private Task[] tasks;
+	
+	/**
+	 * Instance Number
+	 */
+	private long[] a;
+	
+	/**
+	 * Priority
+	 */
+	private int[] p;
+	
+	/**
+	 * Deadline
+	 */
+	private long[] d;
+	
+	/**
+	 * Remaining Computation Time
+	 */
+	private long[] t;
+	
+	/**
+	 * Ready Time
+	 */
+	private long[] r;
+	
+	/**
+	 * True - Mandatory<br>
+	 * False - Optional
+	 */
+	private boolean[] isMandatory;
+	
+	/**
+	 * Reusable task instance of each slot
+	 */
+	private TaskInstance[] taskInstances;
+	
+	/**
+	 * Priority key given by the policy, lower keys run first
+	 */
+	private long[] key;
+	
+	/**
+	 * State of the scheduling policy, null if instances are ordered by a comparator
+	 */
+	private PolicyState policy;
+	
+	/**
+	 * Create the first instance of every task, all released at time 0.
+	 * @param tasks - List of tasks, the index of each task is its slot
+	 * @param a2 - Modifier for Instance Number of each task
+	 */
+	public InstanceTable(List<Task> tasks, int[] a2) {
+		this(tasks, a2, null);
+	}
+	
+	/**
+	 * Create the first instance of every task, all released at time 0, with the priority<br>
+	 * keys of a scheduling policy.
+	 * @param tasks - List of tasks, the index of each task is its slot
+	 * @param a2 - Modifier for Instance Number of each task
+	 * @param policy - State of the scheduling policy, null to order instances by a comparator
+	 */
+	public InstanceTable(List<Task> tasks, int[] a2, PolicyState policy) {
+		this.policy = policy;
+		this.key = policy != null ? new long[tasks.size()] : null;
+		this.tasks = tasks.toArray(new Task[tasks.size()]);
+		this.a = new long[tasks.size()];
+		this.p = new int[tasks.size()];
+		this.d = new long[tasks.size()];
+		this.t = new long[tasks.size()];
+		this.r = new long[tasks.size()];
+		this.isMandatory = new boolean[tasks.size()];
+		this.taskInstances = new TaskInstance[tasks.size()];
+		
+		for(int i = 0; i < tasks.size(); i++) {
+			taskInstances[i] = new TaskInstance(tasks.get(i), 0, a2[i], i, tasks.size(), 0);
+			load(i);
+		}
+	}
+	
+	/**
+	 * Copy the values of the reusable task instance of a slot into the arrays.
+	 * @param slot of the task
+	 */
+	private void load(int slot) {
+		TaskInstance taskInstance = taskInstances[slot];
+		
+		a[slot] = taskInstance.getA();
+		p[slot] = taskInstance.getP();
+		d[slot] = taskInstance.getD();
+		t[slot] = taskInstance.getT();
+		r[slot] = taskInstance.getR();
+		isMandatory[slot] = taskInstance.isMandatory();
+		
+		if(policy != null) {
+			key[slot] = policy.getPriority(slot, a[slot], d[slot], isMandatory[slot]);
+		}
+	}
+	
+	/**
+	 * Replace the instance in a slot with the next instance of the same task, after giving<br>
+	 * the outcome of the current instance to the scheduling policy, if there is one.
+	 * @param slot of the task
+	 * @param met - True if the current instance completed by its deadline, false if it missed it
+	 */
+	public void nextInstance(int slot, boolean met) {
+		if(policy != null) {
+			policy.instanceFinished(slot, a[slot], met);
+		}
+		
+		nextInstance(slot);
+	}
+	
+	/**
+	 * Replace the instance in a slot with the next instance of the same task,<br>
+	 * released at the deadline of the current instance.
+	 * @param slot of the task
+	 */
+	public void nextInstance(int slot) {
+		TaskInstance taskInstance = taskInstances[slot];
+		
+		taskInstance.setA(a[slot] + 1);
+		taskInstance.setP(slot, tasks.length);
+		taskInstance.setT(tasks[slot].getC());
+		taskInstance.setR(d[slot]);
+		
+		load(slot);
+	}
+	
+	/**
+	 * Replace a mandatory instance in a slot with the next optional instance of the same task,<br>
+	 * released at the start of its period. An optional instance is left as it is.
+	 * @param slot of the task
+	 * @return False if every instance of the task is mandatory
+	 */
+	public boolean skipMandatory(int slot) {
+		if(!isMandatory[slot]) {
+			return true;
+		}
+		
+		TaskInstance taskInstance = taskInstances[slot];
+		long next = tasks[slot].getPattern().nextOptional(a[slot] + taskInstance.getA2());
+		
+		if(next < 0) {
+			return false;
+		}
+		
+		next -= taskInstance.getA2();
+		taskInstance.setA(next);
+		taskInstance.setP(slot, tasks.length);
+		taskInstance.setT(tasks[slot].getC());
+		taskInstance.setR(tasks[slot].getP() * next);
+		
+		load(slot);
+		return true;
+	}
+	
+	/**
+	 * Executes the instance in a slot from start to end and returns the result.
+	 * @param slot of the task
+	 * @param start time
+	 * @param end time
+	 * @return True if the instance executed, false otherwise
+	 */
+	public boolean execute(int slot, long start, long end) {
+		if(end < start || end > d[slot] + 1 || start > d[slot] || t[slot] < end - start) {
+			return false;
+		}
+		
+		t[slot] -= end - start;
+		taskInstances[slot].setT(t[slot]);
+		
+		return true;
+	}
+	
+	/**
+	 * Get the number of slots.
+	 * @return Number of tasks
+	 */
+	public int size() {
+		return tasks.length;
+	}
+	
+	/**
+	 * Get the task of a slot.
+	 * @param slot of the task
+	 * @return Task
+	 */
+	public Task getTask(int slot) {
+		return tasks[slot];
+	}
+	
+	/**
+	 * Get the reusable task instance of a slot, which changes when the slot changes.
+	 * @param slot of the task
+	 * @return Current task instance
+	 */
+	public TaskInstance getTaskInstance(int slot) {
+		return taskInstances[slot];
+	}
+	
+	/**
+	 * Get the instance number of the instance in a slot.
+	 * @param slot of the task
+	 * @return Value of instance number
+	 */
+	public long getA(int slot) {
+		return a[slot];
+	}
+	
+	/**
+	 * Get the priority of the instance in a slot.
+	 * @param slot of the task
+	 * @return Value of priority
+	 */
+	public int getP(int slot) {
+		return p[slot];
+	}
+	
+	/**
+	 * Check if the instances have the priority keys of a scheduling policy.
+	 * @return True if there are keys, false if instances are ordered by a comparator
+	 */
+	public boolean hasKeys() {
+		return policy != null;
+	}
+	
+	/**
+	 * Get the priority key of the current instance of a slot.
+	 * @param slot of the task
+	 * @return Priority key, lower keys run first
+	 */
+	public long getKey(int slot) {
+		return key[slot];
+	}
+	
+	/**
+	 * Get the deadline of the instance in a slot.
+	 * @param slot of the task
+	 * @return Value of deadline
+	 */
+	public long getD(int slot) {
+		return d[slot];
+	}
+	
+	/**
+	 * Get the remaining computation time of the instance in a slot.
+	 * @param slot of the task
+	 * @return Value of remaining computation time
+	 */
+	public long getT(int slot) {
+		return t[slot];
+	}
+	
+	/**
+	 * Get the ready time of the instance in a slot.
+	 * @param slot of the task
+	 * @return Value of ready time
+	 */
+	public long getR(int slot) {
+		return r[slot];
+	}
+	
+	/**
+	 * Get the status of the instance in a slot as mandatory or not.
+	 * @param slot of the task
+	 * @return True if mandatory, false if optional
+	 */
+	public boolean isMandatory(int slot) {
+		return isMandatory[slot];
+	}
+}
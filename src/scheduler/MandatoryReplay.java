@@ -0,0 +1,260 @@
+package scheduler;
+
+import java.util.Comparator;
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Mandatory executions and deadline misses of the unchanged tasks of an earlier schedule.<br>
+ * Every mandatory instance runs before every optional instance, and mandatory instances run<br>
+ * in task priority order, so the mandatory instances of a task do not depend on the tasks<br>
+ * with a lower priority. When only lower priority tasks changed, they are replayed from the<br>
+ * earlier schedule instead of simulated again. Tasks with the same priority as another task<br>
+ * are still simulated, since the order between them depends on the instances before.
+ * @author Franklin Nelson
+ *
+ */
+class MandatoryReplay {
+	/**
+	 * True if the mandatory instances of the task are replayed
+	 */
+	private boolean[] replayed;
+	
+	/**
+	 * Task, start time, end time and storage of every replayed execution, in order.<br>
+	 * An execution still running at the end of the schedule is not stored as a segment
+	 */
+	private int[] segmentTask;
+	private long[] segmentStart, segmentEnd;
+	private boolean[] segmentRecorded;
+	private int segmentCount = 0, segment = 0;
+	
+	/**
+	 * Task, instance number and time of every replayed deadline miss, in order
+	 */
+	private int[] missTask;
+	private long[] missA, missTime;
+	private int missCount = 0, miss = 0;
+	
+	/**
+	 * Create an empty replay.
+	 * @param replayed - True for each task whose mandatory instances are replayed
+	 * @param segments - Most executions which can be replayed
+	 * @param misses - Most deadline misses which can be replayed
+	 */
+	private MandatoryReplay(boolean[] replayed, int segments, int misses) {
+		this.replayed = replayed;
+		this.segmentTask = new int[segments];
+		this.segmentStart = new long[segments];
+		this.segmentEnd = new long[segments];
+		this.segmentRecorded = new boolean[segments];
+		this.missTask = new int[misses];
+		this.missA = new long[misses];
+		this.missTime = new long[misses];
+	}
+	
+	/**
+	 * Take the mandatory instances which can be replayed from an earlier schedule.
+	 * @param tasks - Normalized tasks sorted by taskComparator
+	 * @param taskComparator - Scheduling algorithm used on the base tasks, the same as the earlier schedule
+	 * @param length - Length of the schedule
+	 * @param previous - Result of the earlier schedule, may be null
+	 * @return Replay of the unchanged tasks, null if no task can be replayed
+	 */
+	static MandatoryReplay create(List<Task> tasks, Comparator<Task> taskComparator, long length, ScheduleResult previous) {
+		if(previous == null || !previous.isComplete() || previous.getLength() < length || previous.getProcessors() != 1) {
+			return null;
+		}
+		
+		// Find the first changed task, the name of a task and the gcd of m and k do not change the schedule
+		List<Task> previousTasks = previous.getTasks();
+		int changed = 0;
+		
+		for(; changed < Math.min(tasks.size(), previousTasks.size()); changed++) {
+			Task task = tasks.get(changed), previousTask = previousTasks.get(changed).normalize();
+			
+			if(task.getC() != previousTask.getC() || task.getP() != previousTask.getP() || task.getM() != previousTask.getM() || task.getK() != previousTask.getK()) {
+				break;
+			}
+		}
+		
+		// Tasks with the same priority as a changed task are changed as well
+		while(changed > 0 && (changed < tasks.size() && taskComparator.compare(tasks.get(changed - 1), tasks.get(changed)) == 0
+				|| changed < previousTasks.size() && taskComparator.compare(previousTasks.get(changed - 1), previousTasks.get(changed)) == 0)) {
+			changed--;
+		}
+		
+		boolean[] replayed = new boolean[tasks.size()];
+		boolean any = false;
+		
+		for(int i = 0; i < changed; i++) {
+			replayed[i] = (i == 0 || taskComparator.compare(tasks.get(i - 1), tasks.get(i)) != 0)
+					&& (i + 1 == tasks.size() || taskComparator.compare(tasks.get(i), tasks.get(i + 1)) != 0);
+			any |= replayed[i];
+		}
+		
+		if(!any) {
+			return null;
+		}
+		
+		List<DeadlineMiss> deadlineMisses = previous.getDeadlineMisses();
+		MandatoryReplay replay = new MandatoryReplay(replayed, previous.getSegmentCount() + 1, deadlineMisses.size());
+		
+		for(int i = 0; i < previous.getSegmentCount(); i++) {
+			int task = previous.getSegmentTask(i);
+			long start = previous.getSegmentStart(i), end = previous.getSegmentEnd(i);
+			
+			if(task >= changed || !replayed[task] || !previous.isSegmentMandatory(i) || start >= length) {
+				continue;
+			}
+			
+			// An instance is only stored if it completed by the end of the schedule
+			if(end < length || end == length && (previous.getLength() == length || replay.isCompleted(tasks.get(task), task, start, end))) {
+				replay.addSegment(task, start, end, true);
+			}
+			else {
+				replay.addSegment(task, start, length, false);
+			}
+		}
+		
+		int unfinished = previous.getUnfinishedTask();
+		if(unfinished >= 0 && unfinished < changed && replayed[unfinished] && previous.isUnfinishedMandatory() && previous.getUnfinishedStart() < length) {
+			replay.addSegment(unfinished, previous.getUnfinishedStart(), length, false);
+		}
+		
+		for(DeadlineMiss deadlineMiss : deadlineMisses) {
+			if(deadlineMiss.isMandatory() && deadlineMiss.getTask() < changed && replayed[deadlineMiss.getTask()] && deadlineMiss.getTime() <= length) {
+				replay.addMiss(deadlineMiss.getTask(), deadlineMiss.getA(), deadlineMiss.getTime());
+			}
+		}
+		
+		return replay;
+	}
+	
+	/**
+	 * Add an execution to the end of the replay.
+	 * @param task - Index of the task
+	 * @param start - Start time
+	 * @param end - End time
+	 * @param recorded - True if it is stored as a segment
+	 */
+	private void addSegment(int task, long start, long end, boolean recorded) {
+		segmentTask[segmentCount] = task;
+		segmentStart[segmentCount] = start;
+		segmentEnd[segmentCount] = end;
+		segmentRecorded[segmentCount++] = recorded;
+	}
+	
+	/**
+	 * Check if an instance completes with an execution, after the executions already added.
+	 * @param parent - Task of the instance
+	 * @param task - Index of the task
+	 * @param start - Start time of the execution
+	 * @param end - End time of the execution
+	 * @return True if the instance received all of its computation time
+	 */
+	private boolean isCompleted(Task parent, int task, long start, long end) {
+		// Instance a of a task executes between a * P and (a + 1) * P
+		long release = start / parent.getP() * parent.getP(), executed = end - start;
+		
+		for(int i = segmentCount - 1; i >= 0 && segmentStart[i] >= release; i--) {
+			if(segmentTask[i] == task) {
+				executed += segmentEnd[i] - segmentStart[i];
+			}
+		}
+		
+		return executed == parent.getC();
+	}
+	
+	/**
+	 * Add a deadline miss to the end of the replay.
+	 * @param task - Index of the task
+	 * @param a - Instance Number
+	 * @param time - Time of the missed deadline
+	 */
+	private void addMiss(int task, long a, long time) {
+		missTask[missCount] = task;
+		missA[missCount] = a;
+		missTime[missCount++] = time;
+	}
+	
+	/**
+	 * Check if the mandatory instances of a task are replayed.
+	 * @param task - Index of the task
+	 * @return True if replayed, false if simulated
+	 */
+	boolean isReplayed(int task) {
+		return replayed[task];
+	}
+	
+	/**
+	 * Get the start time of the next replayed execution.
+	 * @return Start time, Long.MAX_VALUE if there are none left
+	 */
+	long getStart() {
+		return segment < segmentCount ? segmentStart[segment] : Long.MAX_VALUE;
+	}
+	
+	/**
+	 * Get the end time of the next replayed execution.
+	 * @return End time
+	 */
+	long getEnd() {
+		return segmentEnd[segment];
+	}
+	
+	/**
+	 * Get the task of the next replayed execution.
+	 * @return Index of the task
+	 */
+	int getTask() {
+		return segmentTask[segment];
+	}
+	
+	/**
+	 * Check if the next replayed execution is stored as a segment.
+	 * @return False if it is still running at the end of the schedule
+	 */
+	boolean isRecorded() {
+		return segmentRecorded[segment];
+	}
+	
+	/**
+	 * Move on to the execution after the next replayed execution.
+	 */
+	void next() {
+		segment++;
+	}
+	
+	/**
+	 * Get the time of the next replayed deadline miss.
+	 * @return Time of the missed deadline, Long.MAX_VALUE if there are none left
+	 */
+	long getMissTime() {
+		return miss < missCount ? missTime[miss] : Long.MAX_VALUE;
+	}
+	
+	/**
+	 * Get the task of the next replayed deadline miss.
+	 * @return Index of the task
+	 */
+	int getMissTask() {
+		return missTask[miss];
+	}
+	
+	/**
+	 * Get the instance number of the next replayed deadline miss.
+	 * @return Instance Number
+	 */
+	long getMissA() {
+		return missA[miss];
+	}
+	
+	/**
+	 * Move on to the deadline miss after the next replayed deadline miss.
+	 */
+	void nextMiss() {
+		miss++;
+	}
+}
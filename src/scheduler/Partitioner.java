@@ -0,0 +1,21 @@
+package scheduler;
+
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Assigns tasks to processors for partitioned scheduling, where every task always runs<br>
+ * on the same processor and each processor is scheduled on its own.
+ * @author Franklin Nelson
+ *
+ */
+public interface Partitioner {
+	/**
+	 * Assign every task to a processor.
+	 * @param tasks - Tasks in the order they are scheduled
+	 * @param processors - Number of processors
+	 * @return Processor of each task, between 0 and processors - 1
+	 */
+	public int[] partition(List<Task> tasks, int processors);
+}
@@ -0,0 +1,102 @@
+package scheduler;
+
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Scheduling policies for (m, k)-Firm tasks. The (m, k) policies run every mandatory instance<br>
+ * before every optional instance, the others ignore the mandatory pattern and only keep the<br>
+ * (m, k) constraint checked by the schedule.
+ * @author Franklin Nelson
+ *
+ */
+public enum Policy implements SchedulingPolicy {
+	/**
+	 * Mandatory instances first, then the task with the lowest period, like TaskInstanceComparator
+	 */
+	MK_RMS("(m, k)-RMS") {
+		public PolicyState create(final List<Task> tasks, long length) {
+			return new PolicyState() {
+				public long getPriority(int slot, long a, long deadline, boolean isMandatory) {
+					return mandatoryFirst(tasks.get(slot).getP(), isMandatory);
+				}
+				
+				public void instanceFinished(int slot, long a, boolean met) {
+				}
+			};
+		}
+	},
+	
+	/**
+	 * Mandatory instances first, then the instance with the earliest deadline
+	 */
+	MK_EDF("(m, k)-EDF") {
+		public PolicyState create(List<Task> tasks, long length) {
+			return new PolicyState() {
+				public long getPriority(int slot, long a, long deadline, boolean isMandatory) {
+					return mandatoryFirst(deadline, isMandatory);
+				}
+				
+				public void instanceFinished(int slot, long a, boolean met) {
+				}
+			};
+		}
+	},
+	
+	/**
+	 * Distance-based priority: the instance of the task fewest consecutive misses away<br>
+	 * from breaking its (m, k) constraint first, then the task with the highest base priority
+	 */
+	DBP("DBP") {
+		public PolicyState create(List<Task> tasks, long length) {
+			return new DistanceState(tasks, length);
+		}
+	},
+	
+	/**
+	 * The instance with the earliest deadline first, mandatory or not
+	 */
+	EDF("EDF") {
+		public PolicyState create(List<Task> tasks, long length) {
+			return new PolicyState() {
+				public long getPriority(int slot, long a, long deadline, boolean isMandatory) {
+					return deadline;
+				}
+				
+				public void instanceFinished(int slot, long a, boolean met) {
+				}
+			};
+		}
+	};
+	
+	/**
+	 * Name shown to the user
+	 */
+	private String name;
+	
+	/**
+	 * Create a policy with the name shown to the user.
+	 * @param name - Name shown to the user
+	 */
+	private Policy(String name) {
+		this.name = name;
+	}
+	
+	/**
+	 * Get a key which puts every mandatory instance before every optional instance.
+	 * @param key - Priority key among instances which are both mandatory or both optional, at least 1
+	 * @param isMandatory - True if the instance is mandatory
+	 * @return Negative key of a mandatory instance, positive key of an optional one
+	 */
+	private static long mandatoryFirst(long key, boolean isMandatory) {
+		return isMandatory ? Long.MIN_VALUE + key : key;
+	}
+	
+	/**
+	 * Returns the name of the policy shown to the user.
+	 */
+	public String toString() {
+		return name;
+	}
+}
@@ -0,0 +1,135 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import task.Task;
+import task.TaskInstance;
+
+/**
+ * Schedules one set of (m, k)-Firm tasks with several policies at the same time, one thread per policy.<br>
+ * The tasks are sorted and normalized, and the length of the schedule, the mandatory patterns and<br>
+ * the modifiers of the instance numbers are found once and shared by every schedule, since<br>
+ * they only depend on the tasks and the task comparator.
+ * @author Franklin Nelson
+ *
+ */
+public class PolicyComparison {
+	/**
+	 * Schedule the list of tasks given with each policy. The list is not changed. The progress<br>
+	 * listener of the options receives the average progress of the schedules.
+	 * @param tasks - List of tasks which need to be scheduled
+	 * @param taskComparator - Scheduling algorithm used on the base tasks [RMS]
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances, for null policies [(m, k)-Firm]
+	 * @param policies - Policies to compare, a null policy uses the task instance comparator
+	 * @param options - Settings of every schedule, the policy of the options is not used
+	 * @return Results of the schedules, in the order of the policies
+	 * @throws IllegalArgumentException if there are no policies, or the options have a listener
+	 * @throws CancellationException If the thread is interrupted while scheduling
+	 */
+	public static ComparisonResult compare(List<Task> tasks, final Comparator<Task> taskComparator, final Comparator<TaskInstance> taskInstanceComparator, List<SchedulingPolicy> policies, ScheduleOptions options) {
+		if(policies.isEmpty()) {
+			throw new IllegalArgumentException("At least one policy must be compared");
+		}
+		
+		if(options.getListener() != null) {
+			throw new IllegalArgumentException("A listener cannot be used when comparing policies");
+		}
+		
+		final List<Task> sorted = Scheduler.sortTasks(tasks, taskComparator);
+		long maxLength = Scheduler.getLength(sorted);
+		
+		// Only schedule the start of the hyperperiod if it is too long
+		final boolean bounded = maxLength > options.getMaxLength();
+		final long length = Math.min(maxLength, options.getMaxLength());
+		final boolean partitioned = options.getProcessors() > 1 && options.getPartitioner() != null;
+		
+		final List<Task> normalized = Scheduler.normalize(sorted);
+		final int[] a2 = Scheduler.getA2(normalized);
+		
+		// Find the patterns before the threads share the tasks
+		for(Task task : normalized) {
+			task.getPattern();
+		}
+		
+		// The progress of the comparison is the average progress of the schedules
+		final ProgressListener progressListener = options.getProgressListener();
+		final long[] progress = new long[policies.size()];
+		List<Callable<ScheduleResult>> calls = new ArrayList<Callable<ScheduleResult>>(policies.size());
+		
+		for(int i = 0; i < policies.size(); i++) {
+			final int index = i;
+			final ScheduleOptions policyOptions = new ScheduleOptions();
+			policyOptions.setMaxLength(options.getMaxLength());
+			policyOptions.setRecordSegments(options.isRecordSegments());
+			policyOptions.setFailFast(options.isFailFast());
+			policyOptions.setRecordMetrics(options.isRecordMetrics());
+			policyOptions.setProcessors(options.getProcessors());
+			policyOptions.setPartitioner(options.getPartitioner());
+			policyOptions.setPolicy(policies.get(i));
+			
+			if(progressListener != null) {
+				policyOptions.setProgressListener(new ProgressListener() {
+					public void progressChanged(long time, long length) {
+						synchronized(progress) {
+							progress[index] = time;
+							
+							long total = 0;
+							for(long policyTime : progress) {
+								total += policyTime;
+							}
+							
+							progressListener.progressChanged(total / progress.length, length);
+						}
+					}
+				});
+			}
+			
+			calls.add(new Callable<ScheduleResult>() {
+				public ScheduleResult call() {
+					if(partitioned) {
+						return Scheduler.schedulePartitioned(sorted, taskComparator, taskInstanceComparator, policyOptions, length, bounded);
+					}
+					
+					return Scheduler.schedule(sorted, normalized, a2, taskComparator, taskInstanceComparator, policyOptions, null, length, bounded);
+				}
+			});
+		}
+		
+		List<ScheduleResult> results = new ArrayList<ScheduleResult>(policies.size());
+		ExecutorService pool = Executors.newFixedThreadPool(policies.size());
+		
+		try {
+			for(Future<ScheduleResult> future : pool.invokeAll(calls)) {
+				results.add(future.get());
+			}
+		}
+		catch(InterruptedException e) {
+			throw new CancellationException("Comparison was cancelled");
+		}
+		catch(ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			
+			throw new IllegalStateException(e.getCause());
+		}
+		finally {
+			pool.shutdownNow();
+		}
+		
+		List<String> names = new ArrayList<String>(policies.size());
+		for(SchedulingPolicy policy : policies) {
+			names.add(policy != null ? policy.toString() : "Comparator");
+		}
+		
+		return new ComparisonResult(sorted, names, results);
+	}
+}
@@ -0,0 +1,27 @@
+package scheduler;
+
+/**
+ * State of a scheduling policy during one schedule, which gives the priority keys of the task<br>
+ * instances. Instances with equal keys keep the order of the base priority of their tasks.
+ * @author Franklin Nelson
+ *
+ */
+public interface PolicyState {
+	/**
+	 * Get the priority key of the current instance of a task, lower keys run first.
+	 * @param slot - Slot of the task
+	 * @param a - Instance number
+	 * @param deadline - Deadline of the instance
+	 * @param isMandatory - True if the instance is mandatory
+	 * @return Priority key of the instance
+	 */
+	public long getPriority(int slot, long a, long deadline, boolean isMandatory);
+	
+	/**
+	 * Receive the outcome of an instance, before the next instance of the task gets its key.
+	 * @param slot - Slot of the task
+	 * @param a - Instance number
+	 * @param met - True if the instance completed by its deadline, false if it missed it
+	 */
+	public void instanceFinished(int slot, long a, boolean met);
+}
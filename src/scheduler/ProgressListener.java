@@ -0,0 +1,15 @@
+package scheduler;
+
+/**
+ * Receives the progress of the scheduler while a schedule is being created.
+ * @author Franklin Nelson
+ *
+ */
+public interface ProgressListener {
+	/**
+	 * Called every time another percent of the schedule has been simulated, and once at the end.
+	 * @param time - Current time in schedule
+	 * @param length - Length of the schedule
+	 */
+	public void progressChanged(long time, long length);
+}
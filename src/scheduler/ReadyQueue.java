@@ -0,0 +1,209 @@
+package scheduler;
+
+import java.util.Comparator;
+
+import task.Task;
+import task.TaskInstance;
+
+/**
+ * Ready queue of task instances ordered by (m, k)-Firm priority, with one slot per task.<br>
+ * Instances are ordered by the task instance comparator, or by the priority keys of the<br>
+ * instance table when it has them, which only needs a comparison of two longs.<br>
+ * The queue keeps the current instance of every task, released or not, but only<br>
+ * released instances are stored in the heap. Instances which compare equal keep<br>
+ * the order they had after the last reorder, just like a stable sort would.
+ * @author Franklin Nelson
+ *
+ */
+public class ReadyQueue extends IndexedHeap {
+	/**
+	 * Current task instance of each slot
+	 */
+	private InstanceTable taskInstances;
+	
+	/**
+	 * Scheduling algorithm used on the task instances
+	 */
+	private Comparator<TaskInstance> taskInstanceComparator;
+	
+	/**
+	 * True if instances are ordered by the priority keys of the instance table
+	 */
+	private boolean keys;
+	
+	/**
+	 * Order of each slot among the slots with the same base priority
+	 */
+	private int[] rank;
+	
+	/**
+	 * First slot with the same base priority as each slot
+	 */
+	private int[] groupStart;
+	
+	/**
+	 * Slot after the last slot with the same base priority as each slot
+	 */
+	private int[] groupEnd;
+	
+	/**
+	 * True if a task instance with the same base priority was replaced since the last reorder
+	 */
+	private boolean[] groupChanged;
+	
+	/**
+	 * True if any task instance was replaced since the last reorder
+	 */
+	private boolean changed = true;
+	
+	/**
+	 * Slots sorted by rank, used when reordering
+	 */
+	private int[] order;
+	
+	/**
+	 * True if the slot was in the heap before reordering
+	 */
+	private boolean[] released;
+	
+	/**
+	 * Create an empty ready queue for the task instances in a table.
+	 * @param taskInstances - Current task instance of each slot, sorted by taskComparator
+	 * @param taskComparator - Scheduling algorithm used on the base tasks [RMS]
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances [(m, k)-Firm]<br>
+	 * Two task instances may only compare equal if their tasks compare equal in taskComparator.<br>
+	 * It is not used if the table has priority keys, which may be equal for any two instances
+	 */
+	public ReadyQueue(InstanceTable taskInstances, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator) {
+		super(taskInstances.size());
+		
+		this.taskInstances = taskInstances;
+		this.taskInstanceComparator = taskInstanceComparator;
+		this.keys = taskInstances.hasKeys();
+		this.rank = new int[taskInstances.size()];
+		this.groupStart = new int[taskInstances.size()];
+		this.groupEnd = new int[taskInstances.size()];
+		this.groupChanged = new boolean[taskInstances.size()];
+		this.order = new int[taskInstances.size()];
+		this.released = new boolean[taskInstances.size()];
+		
+		for(int i = 0, start = 0; i < taskInstances.size(); i++) {
+			if(i > 0 && taskComparator.compare(taskInstances.getTask(i - 1), taskInstances.getTask(i)) != 0) {
+				start = i;
+			}
+			
+			rank[i] = i;
+			groupStart[i] = start;
+			groupChanged[start] = true;
+		}
+		
+		for(int i = taskInstances.size() - 1, end = taskInstances.size(); i >= 0; i--) {
+			groupEnd[i] = end;
+			
+			if(groupStart[i] == i) {
+				end = i;
+			}
+		}
+	}
+	
+	/**
+	 * Take the task instance of a slot out of the queue before it is replaced.<br>
+	 * The order of equal priority instances is updated on the next reorder.
+	 * @param slot of the task
+	 */
+	public void replace(int slot) {
+		remove(slot);
+		groupChanged[groupStart[slot]] = true;
+		changed = true;
+	}
+	
+	/**
+	 * Reorder the task instances with equal base priority after instances were replaced,<br>
+	 * in the same way a stable sort of all task instances would.
+	 */
+	public void reorder() {
+		if(!changed) {
+			return;
+		}
+		
+		changed = false;
+		
+		for(int start = 0; start < groupStart.length; start = groupEnd[start]) {
+			if(groupChanged[start]) {
+				groupChanged[start] = false;
+				reorder(start, groupEnd[start]);
+			}
+		}
+	}
+	
+	/**
+	 * Stable sort the slots from start to end by priority, then update their ranks.
+	 * @param start - First slot of the group
+	 * @param end - Slot after the last slot of the group
+	 */
+	private void reorder(int start, int end) {
+		if(end - start < 2) {
+			return;
+		}
+		
+		for(int i = start; i < end; i++) {
+			order[rank[i]] = i;
+		}
+		
+		boolean reordered = false;
+		
+		for(int i = start + 1; i < end; i++) {
+			int slot = order[i], j = i;
+			
+			for(; j > start && compare(slot, order[j - 1]) < 0; j--) {
+				order[j] = order[j - 1];
+			}
+			
+			order[j] = slot;
+			reordered |= j != i;
+		}
+		
+		if(!reordered) {
+			return;
+		}
+		
+		// Take the released instances out of the heap while their ranks change
+		for(int i = start; i < end; i++) {
+			released[i] = contains(i);
+			remove(i);
+		}
+		
+		for(int i = start; i < end; i++) {
+			rank[order[i]] = i;
+		}
+		
+		for(int i = start; i < end; i++) {
+			if(released[i]) {
+				add(i);
+			}
+		}
+	}
+	
+	/**
+	 * Orders the task instances by priority, equal priorities keep their previous order.
+	 */
+	protected boolean isBefore(int slot1, int slot2) {
+		int result = compare(slot1, slot2);
+		return result != 0 ? result < 0 : rank[slot1] < rank[slot2];
+	}
+	
+	/**
+	 * Compare the priority of the current instances of two slots.
+	 * @param slot1 - Slot of the first task
+	 * @param slot2 - Slot of the second task
+	 * @return Negative if the first instance goes first, positive if the second does, 0 if equal
+	 */
+	private int compare(int slot1, int slot2) {
+		if(keys) {
+			long key1 = taskInstances.getKey(slot1), key2 = taskInstances.getKey(slot2);
+			return key1 < key2 ? -1 : key1 > key2 ? 1 : 0;
+		}
+		
+		return taskInstanceComparator.compare(taskInstances.getTaskInstance(slot1), taskInstances.getTaskInstance(slot2));
+	}
+}
@@ -0,0 +1,43 @@
+package scheduler;
+
+/**
+ * Verdict of the schedulability analysis of a set of tasks.
+ * @author Franklin Nelson
+ *
+ */
+public enum Schedulability {
+	/**
+	 * Every mandatory instance meets its deadline
+	 */
+	SCHEDULABLE("Schedulable"),
+	
+	/**
+	 * The mandatory instances need more time than the schedule has, so some must miss their deadline
+	 */
+	UNSCHEDULABLE("Unschedulable"),
+	
+	/**
+	 * The analysis cannot decide, the schedule must be simulated
+	 */
+	INCONCLUSIVE("Inconclusive");
+	
+	/**
+	 * Name shown to the user
+	 */
+	private String name;
+	
+	/**
+	 * Create a verdict with the name shown to the user.
+	 * @param name - Name shown to the user
+	 */
+	private Schedulability(String name) {
+		this.name = name;
+	}
+	
+	/**
+	 * Returns the name of the verdict shown to the user.
+	 */
+	public String toString() {
+		return name;
+	}
+}
@@ -0,0 +1,143 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import task.MandatoryPattern;
+import task.Task;
+
+/**
+ * Decides if a set of (m, k)-Firm tasks is schedulable without simulating the hyperperiod.<br>
+ * Optional instances always run after every mandatory instance, so a mandatory instance is only<br>
+ * delayed by the mandatory instances of tasks with the same or higher priority. Response-time<br>
+ * analysis bounds that delay with the most mandatory instances each task can release in a window.
+ * @author Franklin Nelson
+ *
+ */
+public class SchedulabilityAnalysis {
+	/**
+	 * Analyse the schedulability of the list of tasks given, for a schedule of the default longest length.
+	 * @param tasks - List of tasks which need to be scheduled
+	 * @param taskComparator - Scheduling algorithm used on the base tasks [RMS]
+	 * @return Result of the analysis
+	 */
+	public static SchedulabilityResult analyze(List<Task> tasks, Comparator<Task> taskComparator) {
+		return analyze(tasks, taskComparator, ScheduleOptions.DEFAULT_MAX_LENGTH);
+	}
+	
+	/**
+	 * Analyse the schedulability of the list of tasks given. The list is not changed.<br>
+	 * Unschedulable is only given for deadlines the schedule of maxLength checks, so<br>
+	 * the verdict never contradicts the simulation.
+	 * @param tasks - List of tasks which need to be scheduled
+	 * @param taskComparator - Scheduling algorithm used on the base tasks [RMS]
+	 * @param maxLength - Longest schedule simulated
+	 * @return Result of the analysis
+	 */
+	public static SchedulabilityResult analyze(List<Task> tasks, Comparator<Task> taskComparator, long maxLength) {
+		List<Task> sorted = new ArrayList<Task>(tasks);
+		Collections.sort(sorted, taskComparator);
+		
+		long[] responseTimes = new long[sorted.size()];
+		boolean schedulable = true;
+		
+		for(int i = 0; i < sorted.size(); i++) {
+			responseTimes[i] = responseTime(sorted, i, taskComparator);
+			schedulable &= responseTimes[i] >= 0;
+		}
+		
+		Schedulability schedulability = schedulable ? Schedulability.SCHEDULABLE : isOverloaded(sorted, maxLength) ? Schedulability.UNSCHEDULABLE : Schedulability.INCONCLUSIVE;
+		
+		return new SchedulabilityResult(sorted, responseTimes, schedulability);
+	}
+	
+	/**
+	 * Find the longest time a mandatory instance of a task can take to complete. Tasks with<br>
+	 * the same priority are counted as higher priority, since their order changes during a schedule.
+	 * @param tasks - List of tasks sorted by taskComparator
+	 * @param i - Index of the task
+	 * @param taskComparator - Scheduling algorithm used on the base tasks
+	 * @return Bound on the response time, -1 if it exceeds the period of the task
+	 */
+	private static long responseTime(List<Task> tasks, int i, Comparator<Task> taskComparator) {
+		Task task = tasks.get(i);
+		
+		if(task.getPattern().getM() == 0) {
+			return 0;
+		}
+		
+		long deadline = task.getP();
+		long response = task.getC();
+		
+		try {
+			while(response <= deadline) {
+				long next = task.getC();
+				
+				for(int j = 0; j < tasks.size() && next <= deadline; j++) {
+					Task other = tasks.get(j);
+					
+					if(j == i || taskComparator.compare(other, task) > 0) {
+						continue;
+					}
+					
+					// Instances of the other task released in a window as long as the response time
+					long instances = response / other.getP() + (response % other.getP() == 0 ? 0 : 1);
+					long interference = SchedulerUtils.multiply(other.getC(), other.getPattern().maxMandatory(instances));
+					
+					next = interference > deadline - next ? deadline + 1 : next + interference;
+				}
+				
+				if(next == response) {
+					return response;
+				}
+				
+				response = next;
+			}
+		}
+		catch(ArithmeticException e) {
+			// The interference is too large to be met by any deadline
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Check if the mandatory instances with a deadline the schedule checks need more time than<br>
+	 * there is before the last of those deadlines. A mandatory utilization sum(m * C / (k * P)) over 1<br>
+	 * is not enough, since the schedule is shorter than lcm(P * k) and the patterns of the first<br>
+	 * instances can need less than the average.
+	 * @param tasks - List of tasks sorted by taskComparator
+	 * @param maxLength - Longest schedule simulated
+	 * @return True if some mandatory deadline is missed in every schedule, false otherwise
+	 */
+	private static boolean isOverloaded(List<Task> tasks, long maxLength) {
+		// Deadlines at the end of the schedule are not checked
+		long horizon = Math.min(Scheduler.getLength(tasks), maxLength) - 1;
+		int[] a2 = Scheduler.getA2(Scheduler.normalize(tasks));
+		long demand = 0;
+		
+		for(int i = 0; i < tasks.size(); i++) {
+			Task task = tasks.get(i);
+			MandatoryPattern pattern = task.getPattern();
+			
+			// Mandatory instances of the task with a deadline by the horizon, the pattern repeats every k instances
+			long instances = horizon / task.getP();
+			long mandatory = instances / pattern.getK() * pattern.getM();
+			
+			for(long a = instances - instances % pattern.getK(); a < instances; a++) {
+				mandatory += pattern.isMandatory(a + a2[i]) ? 1 : 0;
+			}
+			
+			// C * mandatory is at most the horizon, so the demand cannot overflow before it is over it
+			demand += task.getC() * mandatory;
+			
+			if(demand > horizon) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+}
@@ -0,0 +1,67 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Class holding the outcome of the schedulability analysis of a set of tasks.
+ * @author Franklin Nelson
+ *
+ */
+public class SchedulabilityResult {
+	/**
+	 * Tasks in priority order
+	 */
+	private List<Task> tasks;
+	
+	/**
+	 * Bound on the response time of the mandatory instances of each task, -1 if it exceeds the period
+	 */
+	private long[] responseTimes;
+	
+	/**
+	 * Verdict of the analysis
+	 */
+	private Schedulability schedulability;
+	
+	/**
+	 * Create the result of an analysis.
+	 * @param tasks - Tasks in priority order
+	 * @param responseTimes - Bound on the response time of each task, -1 if it exceeds the period
+	 * @param schedulability - Verdict of the analysis
+	 */
+	SchedulabilityResult(List<Task> tasks, long[] responseTimes, Schedulability schedulability) {
+		this.tasks = Collections.unmodifiableList(new ArrayList<Task>(tasks));
+		this.responseTimes = responseTimes;
+		this.schedulability = schedulability;
+	}
+	
+	/**
+	 * Get the tasks in priority order. Task indexes used in this result refer to this list,<br>
+	 * which is the same order a schedule of the tasks would use.
+	 * @return List of tasks
+	 */
+	public List<Task> getTasks() {
+		return tasks;
+	}
+	
+	/**
+	 * Get the longest time a mandatory instance of a task can take to complete after its release.
+	 * @param task - Index of the task
+	 * @return Bound on the response time, -1 if it could not be bounded within the period
+	 */
+	public long getResponseTime(int task) {
+		return responseTimes[task];
+	}
+	
+	/**
+	 * Get the verdict of the analysis.
+	 * @return Schedulability of the tasks
+	 */
+	public Schedulability getSchedulability() {
+		return schedulability;
+	}
+}
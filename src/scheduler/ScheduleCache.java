@@ -0,0 +1,329 @@
+package scheduler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import task.Task;
+import task.TaskInstance;
+
+/**
+ * Bounded cache of schedule results, the least recently used result is removed first.<br>
+ * A schedule is found by a fingerprint of the values (C, P, m, k) of its tasks<br>
+ * in the order they are scheduled, the comparators and the options. Renamed or reordered<br>
+ * tasks with the same schedule find the same result, with their own names. Comparators are<br>
+ * identified by class, so they must not have any settings, and policies by class and name.<br>
+ * Results removed from the cache can be written to a directory, and are read back when<br>
+ * they are needed again.
+ * @author Franklin Nelson
+ *
+ */
+public class ScheduleCache {
+	/**
+	 * Results by fingerprint, in order of use
+	 */
+	private Map<String, ScheduleResult> results;
+	
+	/**
+	 * Most results kept in memory
+	 */
+	private int capacity;
+	
+	/**
+	 * Directory results are written to when removed from memory, may be null
+	 */
+	private File directory;
+	
+	/**
+	 * Number of schedules found in memory or in the directory, found in the directory, and created
+	 */
+	private long hits = 0, diskHits = 0, misses = 0;
+	
+	/**
+	 * Create an empty cache kept in memory.
+	 * @param capacity - Most results kept in memory
+	 */
+	public ScheduleCache(int capacity) {
+		this(capacity, null);
+	}
+	
+	/**
+	 * Create an empty cache which writes the results it removes to a directory.
+	 * @param capacity - Most results kept in memory
+	 * @param directory - Directory results are written to, null to drop them
+	 */
+	public ScheduleCache(int capacity, File directory) {
+		if(capacity < 1) {
+			throw new IllegalArgumentException("Cache capacity must be at least 1");
+		}
+		
+		if(directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+			throw new IllegalArgumentException("Cannot create cache directory " + directory);
+		}
+		
+		this.capacity = capacity;
+		this.directory = directory;
+		this.results = new LinkedHashMap<String, ScheduleResult>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			
+			protected boolean removeEldestEntry(Map.Entry<String, ScheduleResult> eldest) {
+				if(size() <= ScheduleCache.this.capacity) {
+					return false;
+				}
+				
+				write(eldest.getKey(), eldest.getValue());
+				return true;
+			}
+		};
+	}
+	
+	/**
+	 * Find the schedule of a list of tasks, or create it if it is not in the cache.
+	 * @param tasks - List of tasks which need to be scheduled
+	 * @param taskComparator - Scheduling algorithm used on the base tasks [RMS]
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances [(m, k)-Firm]
+	 * @param options - Settings of the schedule
+	 * @return Result of the schedule
+	 */
+	public ScheduleResult createSchedule(List<Task> tasks, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, ScheduleOptions options) {
+		return createSchedule(tasks, taskComparator, taskInstanceComparator, options, null);
+	}
+	
+	/**
+	 * Find the schedule of a list of tasks, or create it from an earlier schedule if it is not in the cache.
+	 * @param tasks - List of tasks which need to be scheduled
+	 * @param taskComparator - Scheduling algorithm used on the base tasks [RMS]
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances [(m, k)-Firm]
+	 * @param options - Settings of the schedule
+	 * @param previous - Result of an earlier schedule with the same comparators, may be null
+	 * @return Result of the schedule
+	 */
+	public ScheduleResult createSchedule(List<Task> tasks, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, ScheduleOptions options, ScheduleResult previous) {
+		// A listener has to receive every event of the schedule
+		if(options.getListener() != null) {
+			return Scheduler.createSchedule(tasks, taskComparator, taskInstanceComparator, options, previous);
+		}
+		
+		List<Task> sorted = Scheduler.sortTasks(tasks, taskComparator);
+		String key = fingerprint(sorted, taskComparator, taskInstanceComparator, options);
+		ScheduleResult result = get(key, sorted);
+		
+		if(result == null) {
+			result = Scheduler.createSchedule(tasks, taskComparator, taskInstanceComparator, options, previous);
+			put(key, result);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Create the fingerprint of a schedule, which does not depend on the names of the tasks.
+	 * @param tasks - Tasks in the order they are scheduled
+	 * @param taskComparator - Scheduling algorithm used on the base tasks
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances
+	 * @param options - Settings of the schedule
+	 * @return Fingerprint of the schedule
+	 */
+	private static String fingerprint(List<Task> tasks, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, ScheduleOptions options) {
+		StringBuilder key = new StringBuilder();
+		key.append(taskComparator.getClass().getName()).append(' ').append(taskInstanceComparator.getClass().getName());
+		key.append(' ').append(options.getMaxLength()).append(options.isRecordSegments() ? " segments" : "").append(options.isFailFast() ? " fail-fast" : "").append(options.isRecordMetrics() ? " metrics" : "");
+		key.append(' ').append(options.getProcessors()).append(options.getPartitioner() != null ? " " + options.getPartitioner().getClass().getName() + " " + options.getPartitioner() : "");
+		key.append(options.getPolicy() != null ? " " + options.getPolicy().getClass().getName() + " " + options.getPolicy() : "");
+		
+		for(Task task : tasks) {
+			key.append(' ').append(task.getC()).append(',').append(task.getP()).append(',').append(task.getM()).append(',').append(task.getK());
+		}
+		
+		return key.toString();
+	}
+	
+	/**
+	 * Find a result in memory, or in the directory.
+	 * @param key - Fingerprint of the schedule
+	 * @param tasks - Tasks in the order they are scheduled
+	 * @return Result with the tasks, null if it is not in the cache
+	 */
+	private synchronized ScheduleResult get(String key, List<Task> tasks) {
+		ScheduleResult result = results.get(key);
+		
+		if(result == null && (result = read(key, tasks)) != null) {
+			results.put(key, result);
+			diskHits++;
+		}
+		
+		if(result == null) {
+			misses++;
+			return null;
+		}
+		
+		hits++;
+		return result.getTasks().equals(tasks) ? result : result.withTasks(tasks);
+	}
+	
+	/**
+	 * Add a result to memory, which may remove the least recently used result.
+	 * @param key - Fingerprint of the schedule
+	 * @param result - Result of the schedule
+	 */
+	private synchronized void put(String key, ScheduleResult result) {
+		results.put(key, result);
+	}
+	
+	/**
+	 * Get the file a result is written to.
+	 * @param key - Fingerprint of the schedule
+	 * @return File of the result
+	 */
+	private File getFile(String key) {
+		try {
+			StringBuilder name = new StringBuilder();
+			
+			for(byte b : MessageDigest.getInstance("SHA-1").digest(key.getBytes("UTF-8"))) {
+				name.append(Character.forDigit((b >> 4) & 15, 16)).append(Character.forDigit(b & 15, 16));
+			}
+			
+			return new File(directory, name.append(".schedule").toString());
+		}
+		catch(NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		catch(IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Write a result removed from memory to the directory, if there is one.<br>
+	 * A result which cannot be written is dropped, like it would be without a directory.
+	 * @param key - Fingerprint of the schedule
+	 * @param result - Result of the schedule
+	 */
+	private void write(String key, ScheduleResult result) {
+		if(directory == null) {
+			return;
+		}
+		
+		File file = getFile(key);
+		if(file.exists()) {
+			return;
+		}
+		
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+			
+			try {
+				out.writeInt(key.length());
+				out.writeChars(key);
+				result.write(out);
+			}
+			finally {
+				out.close();
+			}
+		}
+		catch(IOException e) {
+			file.delete();
+		}
+	}
+	
+	/**
+	 * Read a result from the directory, if there is one.
+	 * @param key - Fingerprint of the schedule
+	 * @param tasks - Tasks in the order they are scheduled
+	 * @return Result of the schedule, null if it was not written or cannot be read
+	 */
+	private ScheduleResult read(String key, List<Task> tasks) {
+		if(directory == null) {
+			return null;
+		}
+		
+		File file = getFile(key);
+		if(!file.exists()) {
+			return null;
+		}
+		
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			
+			try {
+				StringBuilder fileKey = new StringBuilder();
+				for(int i = in.readInt(); i > 0; i--) {
+					fileKey.append(in.readChar());
+				}
+				
+				return key.contentEquals(fileKey) ? ScheduleResult.read(in, tasks) : null;
+			}
+			finally {
+				in.close();
+			}
+		}
+		catch(IOException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Remove every result from memory. Results written to the directory are kept.
+	 */
+	public synchronized void clear() {
+		results.clear();
+	}
+	
+	/**
+	 * Get the number of results in memory.
+	 * @return Number of results
+	 */
+	public synchronized int getSize() {
+		return results.size();
+	}
+	
+	/**
+	 * Get the most results kept in memory.
+	 * @return Capacity of the cache
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Get the number of schedules found in the cache, in memory or in the directory.
+	 * @return Number of hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+	
+	/**
+	 * Get the number of schedules found in the directory.
+	 * @return Number of hits read from the directory
+	 */
+	public synchronized long getDiskHits() {
+		return diskHits;
+	}
+	
+	/**
+	 * Get the number of schedules which were not in the cache and had to be created.
+	 * @return Number of misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+	
+	/**
+	 * Returns the hits, misses and size of the cache.
+	 */
+	public synchronized String toString() {
+		return "Schedule cache: " + hits + " hits (" + diskHits + " from disk), " + misses + " misses, " + results.size() + "/" + capacity + " results";
+	}
+}
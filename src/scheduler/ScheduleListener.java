@@ -0,0 +1,44 @@
+package scheduler;
+
+/**
+ * Receives events from the scheduler while a schedule is being created.
+ * @author Franklin Nelson
+ *
+ */
+public interface ScheduleListener {
+	/**
+	 * Called when a task instance is released and can start executing.
+	 * @param task - Index of the task in the schedule
+	 * @param a - Instance Number
+	 * @param time - Time of the release
+	 * @param isMandatory - True if the task instance is mandatory
+	 */
+	public void taskReleased(int task, long a, long time, boolean isMandatory);
+	
+	/**
+	 * Called when a task instance stops executing, either because it finished or was preempted.
+	 * @param task - Index of the task in the schedule
+	 * @param start - Time the task instance started executing
+	 * @param end - Time the task instance stopped executing
+	 * @param isMandatory - True if the task instance is mandatory
+	 */
+	public void taskExecuted(int task, long start, long end, boolean isMandatory);
+	
+	/**
+	 * Called when a task instance finishes its computation.
+	 * @param task - Index of the task in the schedule
+	 * @param a - Instance Number
+	 * @param time - Time the task instance finished
+	 * @param isMandatory - True if the task instance is mandatory
+	 */
+	public void taskCompleted(int task, long a, long time, boolean isMandatory);
+	
+	/**
+	 * Called when a task instance misses its deadline.
+	 * @param task - Index of the task in the schedule
+	 * @param a - Instance Number
+	 * @param time - Time of the missed deadline
+	 * @param isMandatory - True if the task instance is mandatory
+	 */
+	public void deadlineMissed(int task, long a, long time, boolean isMandatory);
+}
@@ -0,0 +1,251 @@
+package scheduler;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Runtime measurements of every task in a schedule, found from its executions and deadline misses.<br>
+ * Instance a of a task is released at a * P and has its deadline at (a + 1) * P, so the instance of<br>
+ * an execution is known from its start time, and the executions of an instance end with either its<br>
+ * completion or its deadline miss. Replayed executions are measured the same as simulated ones.<br>
+ * Every array and histogram is created with the schedule, so measuring never allocates.
+ * @author Franklin Nelson
+ *
+ */
+public class ScheduleMetrics {
+	/**
+	 * Period and computation time of every task
+	 */
+	private long[] p, c;
+	
+	/**
+	 * Release time and received computation time of the last instance which executed
+	 */
+	private long[] release, executed;
+	
+	/**
+	 * Number of times each task was started or resumed, and was stopped before completing
+	 */
+	private long[] contextSwitches, preemptions;
+	
+	/**
+	 * Number of deadlines missed in a row so far
+	 */
+	private long[] streak;
+	
+	/**
+	 * Time from release to completion, from release to first execution,<br>
+	 * and the number of deadlines missed in a row, of each task
+	 */
+	private Histogram[] responseTimes, startDelays, missStreaks;
+	
+	/**
+	 * Create the measurements of a schedule.
+	 * @param tasks - Tasks in the order they are scheduled
+	 * @param length - Length of the schedule
+	 */
+	ScheduleMetrics(List<Task> tasks, long length) {
+		int n = tasks.size();
+		this.p = new long[n];
+		this.c = new long[n];
+		this.release = new long[n];
+		this.executed = new long[n];
+		this.contextSwitches = new long[n];
+		this.preemptions = new long[n];
+		this.streak = new long[n];
+		this.responseTimes = new Histogram[n];
+		this.startDelays = new Histogram[n];
+		this.missStreaks = new Histogram[n];
+		
+		for(int i = 0; i < n; i++) {
+			p[i] = tasks.get(i).getP();
+			c[i] = tasks.get(i).getC();
+			release[i] = -1;
+			responseTimes[i] = new Histogram(p[i]);
+			startDelays[i] = new Histogram(p[i]);
+			missStreaks[i] = new Histogram(length / p[i] + 1);
+		}
+	}
+	
+	/**
+	 * Measure a time a task instance executed.
+	 * @param task - Index of the task
+	 * @param start - Start time
+	 * @param end - End time
+	 */
+	void taskExecuted(int task, long start, long end) {
+		long r = start - start % p[task];
+		
+		// The first execution of an instance
+		if(r != release[task]) {
+			release[task] = r;
+			executed[task] = 0;
+			startDelays[task].record(start - r);
+		}
+		
+		contextSwitches[task]++;
+		executed[task] += end - start;
+		
+		if(executed[task] == c[task]) {
+			responseTimes[task].record(end - r);
+			endStreak(task);
+		}
+		// Stopped before its deadline, so another instance took over
+		else if(end < r + p[task]) {
+			preemptions[task]++;
+		}
+	}
+	
+	/**
+	 * Measure a task instance which missed its deadline.
+	 * @param task - Index of the task
+	 */
+	void deadlineMissed(int task) {
+		streak[task]++;
+	}
+	
+	/**
+	 * Finish the measurements at the end of the schedule.
+	 */
+	void finish() {
+		for(int i = 0; i < streak.length; i++) {
+			endStreak(i);
+		}
+	}
+	
+	/**
+	 * Record the deadlines a task missed in a row, if it missed any.
+	 * @param task - Index of the task
+	 */
+	private void endStreak(int task) {
+		if(streak[task] > 0) {
+			missStreaks[task].record(streak[task]);
+			streak[task] = 0;
+		}
+	}
+	
+	/**
+	 * Copy the measurements of a task from the measurements of another schedule.
+	 * @param task - Index of the task
+	 * @param metrics - Measurements to copy from
+	 * @param from - Index of the task in the other schedule
+	 */
+	void copy(int task, ScheduleMetrics metrics, int from) {
+		contextSwitches[task] = metrics.contextSwitches[from];
+		preemptions[task] = metrics.preemptions[from];
+		responseTimes[task] = metrics.responseTimes[from];
+		startDelays[task] = metrics.startDelays[from];
+		missStreaks[task] = metrics.missStreaks[from];
+	}
+	
+	/**
+	 * Get the response times of a task, from the release to the completion of each instance.<br>
+	 * Instances which missed their deadline did not complete, so they are not included.
+	 * @param task - Index of the task
+	 * @return Histogram of response times
+	 */
+	public Histogram getResponseTimes(int task) {
+		return responseTimes[task];
+	}
+	
+	/**
+	 * Get the start delays of a task, from the release to the first execution of each instance.
+	 * @param task - Index of the task
+	 * @return Histogram of start delays
+	 */
+	public Histogram getStartDelays(int task) {
+		return startDelays[task];
+	}
+	
+	/**
+	 * Get the start jitter of a task, the difference between its longest and shortest start delay.
+	 * @param task - Index of the task
+	 * @return Start jitter, 0 if no instance executed
+	 */
+	public long getStartJitter(int task) {
+		return startDelays[task].getMax() - startDelays[task].getMin();
+	}
+	
+	/**
+	 * Get the number of times an instance of a task was stopped for another instance before completing.
+	 * @param task - Index of the task
+	 * @return Number of preemptions
+	 */
+	public long getPreemptions(int task) {
+		return preemptions[task];
+	}
+	
+	/**
+	 * Get the number of times an instance of a task was started or resumed.
+	 * @param task - Index of the task
+	 * @return Number of context switches to the task
+	 */
+	public long getContextSwitches(int task) {
+		return contextSwitches[task];
+	}
+	
+	/**
+	 * Get the number of context switches of every task.
+	 * @return Number of context switches in the schedule
+	 */
+	public long getContextSwitches() {
+		long total = 0;
+		
+		for(long count : contextSwitches) {
+			total += count;
+		}
+		
+		return total;
+	}
+	
+	/**
+	 * Get the lengths of the runs of deadlines a task missed in a row. A task meets its (m, k)<br>
+	 * constraint only if no run is longer than k - m, the last run may be cut off by the end of the schedule.
+	 * @param task - Index of the task
+	 * @return Histogram of runs of missed deadlines
+	 */
+	public Histogram getMissStreaks(int task) {
+		return missStreaks[task];
+	}
+	
+	/**
+	 * Write the measurements, without the state needed to add more.
+	 * @param out - Output to write to
+	 * @throws IOException if the measurements cannot be written
+	 */
+	void write(DataOutput out) throws IOException {
+		for(int i = 0; i < p.length; i++) {
+			out.writeLong(contextSwitches[i]);
+			out.writeLong(preemptions[i]);
+			responseTimes[i].write(out);
+			startDelays[i].write(out);
+			missStreaks[i].write(out);
+		}
+	}
+	
+	/**
+	 * Read measurements written by write.
+	 * @param in - Input to read from
+	 * @param tasks - Tasks in the order they were scheduled
+	 * @param length - Length of the schedule
+	 * @return Measurements of the schedule
+	 * @throws IOException if the measurements cannot be read
+	 */
+	static ScheduleMetrics read(DataInput in, List<Task> tasks, long length) throws IOException {
+		ScheduleMetrics metrics = new ScheduleMetrics(tasks, length);
+		
+		for(int i = 0; i < tasks.size(); i++) {
+			metrics.contextSwitches[i] = in.readLong();
+			metrics.preemptions[i] = in.readLong();
+			metrics.responseTimes[i] = Histogram.read(in);
+			metrics.startDelays[i] = Histogram.read(in);
+			metrics.missStreaks[i] = Histogram.read(in);
+		}
+		
+		return metrics;
+	}
+}
@@ -0,0 +1,226 @@
+package scheduler;
+
+/**
+ * Class holding the settings used when creating a schedule.
+ * @author Franklin Nelson
+ *
+ */
+public class ScheduleOptions {
+	/**
+	 * Default longest schedule, one billion time units
+	 */
+	public static final long DEFAULT_MAX_LENGTH = 1000000000L;
+	
+	/**
+	 * Longest schedule to simulate
+	 */
+	private long maxLength = DEFAULT_MAX_LENGTH;
+	
+	/**
+	 * Receives every execution and deadline miss, may be null
+	 */
+	private ScheduleListener listener = null;
+	
+	/**
+	 * Receives the progress of the schedule, may be null
+	 */
+	private ProgressListener progressListener = null;
+	
+	/**
+	 * True if every execution is stored in the result
+	 */
+	private boolean recordSegments = true;
+	
+	/**
+	 * True if the schedule stops at the first mandatory deadline miss
+	 */
+	private boolean failFast = false;
+	
+	/**
+	 * True if the runtime of every task is measured
+	 */
+	private boolean recordMetrics = false;
+	
+	/**
+	 * Number of processors which execute task instances
+	 */
+	private int processors = 1;
+	
+	/**
+	 * Assigns tasks to processors, null for global scheduling
+	 */
+	private Partitioner partitioner = null;
+	
+	/**
+	 * Gives the priority keys of the task instances, null to use the task instance comparator
+	 */
+	private SchedulingPolicy policy = null;
+	
+	/**
+	 * Get the longest schedule to simulate. If the hyperperiod is longer, or<br>
+	 * too large to compute, only the first maxLength time units are scheduled.
+	 * @return Longest schedule
+	 */
+	public long getMaxLength() {
+		return maxLength;
+	}
+	
+	/**
+	 * Set the longest schedule to simulate. The value must be positive and<br>
+	 * leave room for one more period, so it is limited to half of Long.MAX_VALUE.
+	 * @param maxLength value of new longest schedule
+	 */
+	public void setMaxLength(long maxLength) {
+		if(maxLength < 1 || maxLength > Long.MAX_VALUE / 2) {
+			throw new IllegalArgumentException("maxLength must be between 1 and " + Long.MAX_VALUE / 2);
+		}
+		
+		this.maxLength = maxLength;
+	}
+	
+	/**
+	 * Get the listener which receives every execution and deadline miss.
+	 * @return Schedule listener, null if there is none
+	 */
+	public ScheduleListener getListener() {
+		return listener;
+	}
+	
+	/**
+	 * Set the listener which receives every execution and deadline miss.
+	 * @param listener to use, null for none
+	 */
+	public void setListener(ScheduleListener listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Get the listener which receives the progress of the schedule.
+	 * @return Progress listener, null if there is none
+	 */
+	public ProgressListener getProgressListener() {
+		return progressListener;
+	}
+	
+	/**
+	 * Set the listener which receives the progress of the schedule.
+	 * @param progressListener to use, null for none
+	 */
+	public void setProgressListener(ProgressListener progressListener) {
+		this.progressListener = progressListener;
+	}
+	
+	/**
+	 * Check if every execution is stored in the result of the schedule.
+	 * @return True if executions are stored, false otherwise
+	 */
+	public boolean isRecordSegments() {
+		return recordSegments;
+	}
+	
+	/**
+	 * Set if every execution is stored in the result of the schedule. Batch runs which<br>
+	 * only need the totals can turn this off, the listener still receives every execution.
+	 * @param recordSegments - True to store executions, false otherwise
+	 */
+	public void setRecordSegments(boolean recordSegments) {
+		this.recordSegments = recordSegments;
+	}
+	
+	/**
+	 * Check if the schedule stops at the first mandatory deadline miss.
+	 * @return True if the schedule stops at the first mandatory miss, false otherwise
+	 */
+	public boolean isFailFast() {
+		return failFast;
+	}
+	
+	/**
+	 * Set if the schedule stops at the first mandatory deadline miss, for when only the verdict<br>
+	 * is needed. Executions, computation time and optional misses are not stored in the result,<br>
+	 * so only the verdict and the first mandatory miss of the result are meaningful. Partitioned<br>
+	 * processors all stop at the first miss of any of them, which is the miss in the result.
+	 * @param failFast - True to stop at the first mandatory miss, false otherwise
+	 */
+	public void setFailFast(boolean failFast) {
+		this.failFast = failFast;
+	}
+	
+	/**
+	 * Check if the response times, preemptions, start jitter and runs of missed deadlines<br>
+	 * of every task are measured.
+	 * @return True if the runtime is measured, false otherwise
+	 */
+	public boolean isRecordMetrics() {
+		return recordMetrics;
+	}
+	
+	/**
+	 * Set if the response times, preemptions, start jitter and runs of missed deadlines<br>
+	 * of every task are measured. Measuring takes a few array updates per execution, and batch<br>
+	 * runs and benchmarks only need the totals, so it is off by default. Schedules which fail<br>
+	 * fast are never measured.
+	 * @param recordMetrics - True to measure the runtime, false otherwise
+	 */
+	public void setRecordMetrics(boolean recordMetrics) {
+		this.recordMetrics = recordMetrics;
+	}
+	
+	/**
+	 * Get the number of processors which execute task instances.
+	 * @return Number of processors
+	 */
+	public int getProcessors() {
+		return processors;
+	}
+	
+	/**
+	 * Set the number of processors which execute task instances. With more than one<br>
+	 * processor, tasks are either scheduled globally or partitioned, see setPartitioner.
+	 * @param processors - Number of processors, at least 1
+	 */
+	public void setProcessors(int processors) {
+		if(processors < 1) {
+			throw new IllegalArgumentException("processors must be at least 1");
+		}
+		
+		this.processors = processors;
+	}
+	
+	/**
+	 * Get the heuristic which assigns tasks to processors.
+	 * @return Partitioner, null for global scheduling
+	 */
+	public Partitioner getPartitioner() {
+		return partitioner;
+	}
+	
+	/**
+	 * Set the heuristic which assigns tasks to processors. Partitioned tasks always run on the<br>
+	 * same processor, and each processor is scheduled on its own thread. Without a partitioner<br>
+	 * the schedule is global, the highest priority instances of all tasks run on any processor.<br>
+	 * Partitioned schedules do not support a listener, since the processors run at the same time.
+	 * @param partitioner - Partitioner to use, null for global scheduling
+	 */
+	public void setPartitioner(Partitioner partitioner) {
+		this.partitioner = partitioner;
+	}
+	
+	/**
+	 * Get the policy which gives the priority keys of the task instances.
+	 * @return Scheduling policy, null if the task instance comparator is used
+	 */
+	public SchedulingPolicy getPolicy() {
+		return policy;
+	}
+	
+	/**
+	 * Set the policy which gives the priority keys of the task instances. A policy computes one<br>
+	 * key per instance, which is faster than comparing instances and can depend on the outcome of<br>
+	 * earlier instances. The task comparator still orders the tasks, and orders equal keys.
+	 * @param policy - Scheduling policy to use, null to use the task instance comparator
+	 */
+	public void setPolicy(SchedulingPolicy policy) {
+		this.policy = policy;
+	}
+}
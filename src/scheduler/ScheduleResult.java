@@ -0,0 +1,644 @@
+package scheduler;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Class holding the outcome of scheduling a set of tasks.
+ * @author Franklin Nelson
+ *
+ */
+public class ScheduleResult {
+	/**
+	 * Tasks in the order they were scheduled
+	 */
+	private List<Task> tasks;
+	
+	/**
+	 * Length of the schedule
+	 */
+	private long length;
+	
+	/**
+	 * True if the schedule is shorter than the hyperperiod
+	 */
+	private boolean bounded;
+	
+	/**
+	 * Number of processors which executed task instances
+	 */
+	private int processors;
+	
+	/**
+	 * Processor of each task of a partitioned schedule, null if tasks could run on any processor
+	 */
+	private int[] taskCore = null;
+	
+	/**
+	 * Computation time each task received
+	 */
+	private long[] executedTime;
+	
+	/**
+	 * Task, instance number, time and status of every missed deadline, in order
+	 */
+	private int[] missTask = new int[16];
+	private long[] missA = new long[16], missTime = new long[16];
+	private boolean[] missMandatory = new boolean[16];
+	private int missCount = 0;
+	
+	/**
+	 * Task, start time, end time and status of every execution, in order
+	 */
+	private int[] segmentTask = new int[16];
+	private long[] segmentStart = new long[16], segmentEnd = new long[16];
+	private boolean[] segmentMandatory = new boolean[16];
+	private int segmentCount = 0;
+	
+	/**
+	 * Processor of every execution, in order, null if there is only one processor
+	 */
+	private int[] segmentCore;
+	
+	/**
+	 * Task, start time and status of the execution still running at the end of the schedule,<br>
+	 * which is not stored as a segment. The task is -1 if nothing was running
+	 */
+	private int unfinishedTask = -1;
+	private long unfinishedStart;
+	private boolean unfinishedMandatory;
+	
+	/**
+	 * True if no mandatory deadline was missed
+	 */
+	private boolean succeeded = true;
+	
+	/**
+	 * True if every execution and deadline miss is stored
+	 */
+	private boolean complete;
+	
+	/**
+	 * Runtime measurements of every task, may be null
+	 */
+	private ScheduleMetrics metrics;
+	
+	/**
+	 * First k consecutive instances of a task which met fewer than m deadlines, may be null
+	 */
+	private ConstraintViolation violation;
+	
+	/**
+	 * Create an empty result for a schedule.
+	 * @param tasks - Tasks in the order they were scheduled
+	 * @param length - Length of the schedule
+	 * @param bounded - True if the schedule is shorter than the hyperperiod
+	 * @param complete - True if every execution and deadline miss will be stored
+	 * @param processors - Number of processors which execute task instances
+	 */
+	ScheduleResult(List<Task> tasks, long length, boolean bounded, boolean complete, int processors) {
+		this.tasks = Collections.unmodifiableList(new ArrayList<Task>(tasks));
+		this.length = length;
+		this.bounded = bounded;
+		this.complete = complete;
+		this.processors = processors;
+		this.executedTime = new long[tasks.size()];
+		this.segmentCore = processors > 1 ? new int[16] : null;
+	}
+	
+	/**
+	 * Create a result with the same schedule for other tasks with the same values.
+	 * @param result - Result to copy, which is not changed afterwards
+	 * @param tasks - Tasks in the order they were scheduled
+	 */
+	private ScheduleResult(ScheduleResult result, List<Task> tasks) {
+		this.tasks = Collections.unmodifiableList(new ArrayList<Task>(tasks));
+		this.length = result.length;
+		this.bounded = result.bounded;
+		this.processors = result.processors;
+		this.taskCore = result.taskCore;
+		this.executedTime = result.executedTime;
+		this.missTask = result.missTask;
+		this.missA = result.missA;
+		this.missTime = result.missTime;
+		this.missMandatory = result.missMandatory;
+		this.missCount = result.missCount;
+		this.segmentTask = result.segmentTask;
+		this.segmentStart = result.segmentStart;
+		this.segmentEnd = result.segmentEnd;
+		this.segmentMandatory = result.segmentMandatory;
+		this.segmentCount = result.segmentCount;
+		this.segmentCore = result.segmentCore;
+		this.unfinishedTask = result.unfinishedTask;
+		this.unfinishedStart = result.unfinishedStart;
+		this.unfinishedMandatory = result.unfinishedMandatory;
+		this.succeeded = result.succeeded;
+		this.complete = result.complete;
+		this.metrics = result.metrics;
+		this.violation = result.violation;
+	}
+	
+	/**
+	 * Get this result for other tasks with the same values, such as renamed tasks.<br>
+	 * The schedule is shared, so no copy is made.
+	 * @param tasks - Tasks in the order they were scheduled
+	 * @return Result with the tasks
+	 */
+	ScheduleResult withTasks(List<Task> tasks) {
+		return new ScheduleResult(this, tasks);
+	}
+	
+	/**
+	 * Write the schedule of this result, without the tasks.
+	 * @param out - Output to write to
+	 * @throws IOException if the result cannot be written
+	 */
+	void write(DataOutput out) throws IOException {
+		out.writeLong(length);
+		out.writeBoolean(bounded);
+		out.writeBoolean(complete);
+		out.writeInt(processors);
+		
+		for(long time : executedTime) {
+			out.writeLong(time);
+		}
+		
+		out.writeInt(missCount);
+		for(int i = 0; i < missCount; i++) {
+			out.writeInt(missTask[i]);
+			out.writeLong(missA[i]);
+			out.writeLong(missTime[i]);
+			out.writeBoolean(missMandatory[i]);
+		}
+		
+		out.writeInt(segmentCount);
+		for(int i = 0; i < segmentCount; i++) {
+			out.writeInt(segmentTask[i]);
+			out.writeLong(segmentStart[i]);
+			out.writeLong(segmentEnd[i]);
+			out.writeBoolean(segmentMandatory[i]);
+			
+			if(segmentCore != null) {
+				out.writeInt(segmentCore[i]);
+			}
+		}
+		
+		out.writeInt(unfinishedTask);
+		out.writeLong(unfinishedStart);
+		out.writeBoolean(unfinishedMandatory);
+		
+		out.writeBoolean(taskCore != null);
+		if(taskCore != null) {
+			for(int core : taskCore) {
+				out.writeInt(core);
+			}
+		}
+		
+		out.writeBoolean(metrics != null);
+		if(metrics != null) {
+			metrics.write(out);
+		}
+		
+		out.writeBoolean(violation != null);
+		if(violation != null) {
+			out.writeInt(violation.getTask());
+			out.writeLong(violation.getFirst());
+			out.writeLong(violation.getLast());
+			out.writeLong(violation.getTime());
+		}
+	}
+	
+	/**
+	 * Read a schedule written by write.
+	 * @param in - Input to read from
+	 * @param tasks - Tasks in the order they were scheduled
+	 * @return Result of the schedule
+	 * @throws IOException if the result cannot be read
+	 */
+	static ScheduleResult read(DataInput in, List<Task> tasks) throws IOException {
+		ScheduleResult result = new ScheduleResult(tasks, in.readLong(), in.readBoolean(), in.readBoolean(), in.readInt());
+		
+		for(int i = 0; i < tasks.size(); i++) {
+			result.executedTime[i] = in.readLong();
+		}
+		
+		for(int i = in.readInt(); i > 0; i--) {
+			result.addDeadlineMiss(in.readInt(), in.readLong(), in.readLong(), in.readBoolean());
+		}
+		
+		for(int i = in.readInt(); i > 0; i--) {
+			result.addSegment(in.readInt(), in.readLong(), in.readLong(), in.readBoolean(), result.segmentCore != null ? in.readInt() : 0);
+		}
+		
+		result.setUnfinished(in.readInt(), in.readLong(), in.readBoolean());
+		
+		if(in.readBoolean()) {
+			result.taskCore = new int[tasks.size()];
+			
+			for(int i = 0; i < tasks.size(); i++) {
+				result.taskCore[i] = in.readInt();
+			}
+		}
+		
+		if(in.readBoolean()) {
+			result.metrics = ScheduleMetrics.read(in, tasks, result.length);
+		}
+		
+		if(in.readBoolean()) {
+			result.violation = new ConstraintViolation(in.readInt(), in.readLong(), in.readLong(), in.readLong());
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Add computation time which a task received.
+	 * @param task - Index of the task
+	 * @param time - Computation time received
+	 */
+	void addExecutedTime(int task, long time) {
+		executedTime[task] += time;
+	}
+	
+	/**
+	 * Add a task instance which missed its deadline.
+	 * @param task - Index of the task
+	 * @param a - Instance Number
+	 * @param time - Time of the missed deadline
+	 * @param isMandatory - True if the task instance was mandatory
+	 */
+	void addDeadlineMiss(int task, long a, long time, boolean isMandatory) {
+		if(missCount == missTask.length) {
+			missTask = Arrays.copyOf(missTask, 2 * missCount);
+			missA = Arrays.copyOf(missA, 2 * missCount);
+			missTime = Arrays.copyOf(missTime, 2 * missCount);
+			missMandatory = Arrays.copyOf(missMandatory, 2 * missCount);
+		}
+		
+		missTask[missCount] = task;
+		missA[missCount] = a;
+		missTime[missCount] = time;
+		missMandatory[missCount++] = isMandatory;
+		succeeded &= !isMandatory;
+	}
+	
+	/**
+	 * Add a time a task instance executed.
+	 * @param task - Index of the task
+	 * @param start - Start time
+	 * @param end - End time
+	 * @param isMandatory - True if the task instance was mandatory
+	 */
+	void addSegment(int task, long start, long end, boolean isMandatory) {
+		addSegment(task, start, end, isMandatory, 0);
+	}
+	
+	/**
+	 * Add a time a task instance executed on a processor.
+	 * @param task - Index of the task
+	 * @param start - Start time
+	 * @param end - End time
+	 * @param isMandatory - True if the task instance was mandatory
+	 * @param core - Processor which executed the task instance
+	 */
+	void addSegment(int task, long start, long end, boolean isMandatory, int core) {
+		if(segmentCount == segmentTask.length) {
+			segmentTask = Arrays.copyOf(segmentTask, 2 * segmentCount);
+			segmentStart = Arrays.copyOf(segmentStart, 2 * segmentCount);
+			segmentEnd = Arrays.copyOf(segmentEnd, 2 * segmentCount);
+			segmentMandatory = Arrays.copyOf(segmentMandatory, 2 * segmentCount);
+			
+			if(segmentCore != null) {
+				segmentCore = Arrays.copyOf(segmentCore, 2 * segmentCount);
+			}
+		}
+		
+		if(segmentCore != null) {
+			segmentCore[segmentCount] = core;
+		}
+		
+		segmentTask[segmentCount] = task;
+		segmentStart[segmentCount] = start;
+		segmentEnd[segmentCount] = end;
+		segmentMandatory[segmentCount++] = isMandatory;
+	}
+	
+	/**
+	 * Set the execution still running at the end of the schedule.
+	 * @param task - Index of the task
+	 * @param start - Start time
+	 * @param isMandatory - True if the task instance was mandatory
+	 */
+	void setUnfinished(int task, long start, boolean isMandatory) {
+		unfinishedTask = task;
+		unfinishedStart = start;
+		unfinishedMandatory = isMandatory;
+	}
+	
+	/**
+	 * Get the task of the execution still running at the end of the schedule.
+	 * @return Index of the task, -1 if nothing was running
+	 */
+	int getUnfinishedTask() {
+		return unfinishedTask;
+	}
+	
+	/**
+	 * Get the start time of the execution still running at the end of the schedule.
+	 * @return Start time
+	 */
+	long getUnfinishedStart() {
+		return unfinishedStart;
+	}
+	
+	/**
+	 * Get the status of the execution still running at the end of the schedule.
+	 * @return True if the task instance was mandatory, false if optional
+	 */
+	boolean isUnfinishedMandatory() {
+		return unfinishedMandatory;
+	}
+	
+	/**
+	 * Check if every execution and deadline miss is stored, which is needed to reuse this result.
+	 * @return True if the schedule was not stopped early and its segments were recorded
+	 */
+	boolean isComplete() {
+		return complete;
+	}
+	
+	/**
+	 * Set the processor of each task of a partitioned schedule.
+	 * @param taskCore - Processor of each task
+	 */
+	void setTaskCore(int[] taskCore) {
+		this.taskCore = taskCore;
+	}
+	
+	/**
+	 * Set the runtime measurements of every task.
+	 * @param metrics - Measurements of the schedule, may be null
+	 */
+	void setMetrics(ScheduleMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
+	/**
+	 * Get the runtime measurements of every task, such as response times and preemptions.
+	 * @return Measurements of the schedule, null if they were not recorded
+	 */
+	public ScheduleMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * Set the first k consecutive instances of a task which met fewer than m deadlines.
+	 * @param violation - First constraint violation, null if there is none
+	 */
+	void setViolation(ConstraintViolation violation) {
+		this.violation = violation;
+	}
+	
+	/**
+	 * Get the first k consecutive instances of a task which met fewer than m deadlines.<br>
+	 * Unlike isSucceeded, this checks the outcome of every instance, so optional instances<br>
+	 * which met their deadlines make up for mandatory instances which did not.
+	 * @return First constraint violation, null if every task met its (m, k) constraint
+	 */
+	public ConstraintViolation getFirstViolation() {
+		return violation;
+	}
+	
+	/**
+	 * Get the tasks in the order they were scheduled. Task indexes used in<br>
+	 * this result refer to this list.
+	 * @return List of tasks
+	 */
+	public List<Task> getTasks() {
+		return tasks;
+	}
+	
+	/**
+	 * Get the length of the schedule.
+	 * @return Length of schedule
+	 */
+	public long getLength() {
+		return length;
+	}
+	
+	/**
+	 * Get the number of processors which executed task instances.
+	 * @return Number of processors
+	 */
+	public int getProcessors() {
+		return processors;
+	}
+	
+	/**
+	 * Get the processor a task was assigned to in a partitioned schedule.
+	 * @param task - Index of the task
+	 * @return Processor of the task, -1 if the task could run on any processor
+	 */
+	public int getTaskCore(int task) {
+		return taskCore != null ? taskCore[task] : -1;
+	}
+	
+	/**
+	 * Check if only the start of the hyperperiod was scheduled, because<br>
+	 * the hyperperiod is longer than the longest schedule allowed.
+	 * @return True if the schedule is shorter than the hyperperiod, false otherwise
+	 */
+	public boolean isBounded() {
+		return bounded;
+	}
+	
+	/**
+	 * Get the computation time a task received.
+	 * @param task - Index of the task
+	 * @return Computation time received
+	 */
+	public long getExecutedTime(int task) {
+		return executedTime[task];
+	}
+	
+	/**
+	 * Get the number of instances of a task which executed, counting<br>
+	 * partially executed instances as a fraction.
+	 * @param task - Index of the task
+	 * @return Number of executed instances
+	 */
+	public double getExecutedInstances(int task) {
+		return (double)executedTime[task] / tasks.get(task).getC();
+	}
+	
+	/**
+	 * Get the number of instances of a task released in the schedule.
+	 * @param task - Index of the task
+	 * @return Number of instances
+	 */
+	public double getInstances(int task) {
+		return (double)length / tasks.get(task).getP();
+	}
+	
+	/**
+	 * Get the number of mandatory instances of a task released in the schedule.
+	 * @param task - Index of the task
+	 * @return Number of mandatory instances
+	 */
+	public double getMandatoryInstances(int task) {
+		return getInstances(task) * ((double)tasks.get(task).getM() / tasks.get(task).getK());
+	}
+	
+	/**
+	 * Check if the task has any optional instances, tasks without any have no MQR.
+	 * @param task - Index of the task
+	 * @return True if the task has optional instances, false otherwise
+	 */
+	public boolean hasMQR(int task) {
+		return tasks.get(task).getM() != tasks.get(task).getK();
+	}
+	
+	/**
+	 * Get the MQR of a task, the share of its optional instances which executed.
+	 * @param task - Index of the task
+	 * @return MQR of the task, 0.0 if the task has no optional instances
+	 */
+	public double getMQR(int task) {
+		if(!hasMQR(task)) {
+			return 0.0;
+		}
+		
+		double k = getInstances(task);
+		double m = getMandatoryInstances(task);
+		
+		return (getExecutedInstances(task) - m) / (k - m);
+	}
+	
+	/**
+	 * Get the average MQR of all tasks with optional instances.
+	 * @return Average MQR, 0.0 if no task has optional instances
+	 */
+	public double getAverageMQR() {
+		double mqr = 0.0;
+		int count = 0;
+		
+		for(int i = 0; i < tasks.size(); i++) {
+			if(hasMQR(i)) {
+				mqr += getMQR(i);
+				count++;
+			}
+		}
+		
+		return count > 0 ? mqr / count : 0.0;
+	}
+	
+	/**
+	 * Get every task instance which missed its deadline, in order.
+	 * @return List of deadline misses
+	 */
+	public List<DeadlineMiss> getDeadlineMisses() {
+		List<DeadlineMiss> deadlineMisses = new ArrayList<DeadlineMiss>(missCount);
+		
+		for(int i = 0; i < missCount; i++) {
+			deadlineMisses.add(new DeadlineMiss(missTask[i], missA[i], missTime[i], missMandatory[i]));
+		}
+		
+		return deadlineMisses;
+	}
+	
+	/**
+	 * Get the first mandatory task instance which missed its deadline.
+	 * @return First mandatory deadline miss, null if every mandatory deadline was met
+	 */
+	public DeadlineMiss getFirstMandatoryMiss() {
+		for(int i = 0; i < missCount; i++) {
+			if(missMandatory[i]) {
+				return new DeadlineMiss(missTask[i], missA[i], missTime[i], true);
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Get every time a task instance executed, in order.
+	 * @return List of execution segments, empty if they were not recorded
+	 */
+	public List<ExecutionSegment> getSegments() {
+		List<ExecutionSegment> segments = new ArrayList<ExecutionSegment>(segmentCount);
+		
+		for(int i = 0; i < segmentCount; i++) {
+			segments.add(new ExecutionSegment(segmentTask[i], segmentStart[i], segmentEnd[i], segmentMandatory[i], getSegmentCore(i)));
+		}
+		
+		return segments;
+	}
+	
+	/**
+	 * Get the number of times a task instance executed.
+	 * @return Number of execution segments, 0 if they were not recorded
+	 */
+	public int getSegmentCount() {
+		return segmentCount;
+	}
+	
+	/**
+	 * Get the task of an execution segment, without creating the segment.
+	 * @param segment - Index of the segment
+	 * @return Index of the task
+	 */
+	public int getSegmentTask(int segment) {
+		return segmentTask[segment];
+	}
+	
+	/**
+	 * Get the start time of an execution segment, without creating the segment.
+	 * @param segment - Index of the segment
+	 * @return Start time
+	 */
+	public long getSegmentStart(int segment) {
+		return segmentStart[segment];
+	}
+	
+	/**
+	 * Get the end time of an execution segment, without creating the segment.
+	 * @param segment - Index of the segment
+	 * @return End time
+	 */
+	public long getSegmentEnd(int segment) {
+		return segmentEnd[segment];
+	}
+	
+	/**
+	 * Get the processor of an execution segment, without creating the segment.
+	 * @param segment - Index of the segment
+	 * @return Processor which executed the segment
+	 */
+	public int getSegmentCore(int segment) {
+		return segmentCore != null ? segmentCore[segment] : 0;
+	}
+	
+	/**
+	 * Get the status of an execution segment, without creating the segment.
+	 * @param segment - Index of the segment
+	 * @return True if the task instance was mandatory, false if optional
+	 */
+	public boolean isSegmentMandatory(int segment) {
+		return segmentMandatory[segment];
+	}
+	
+	/**
+	 * Check if the schedule succeeded.
+	 * @return True if no mandatory deadline was missed, false otherwise
+	 */
+	public boolean isSucceeded() {
+		return succeeded;
+	}
+}
@@ -1,17 +1,20 @@
 package scheduler;
 
-import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
-import javax.swing.JTextArea;
-
-import org.jfree.data.gantt.TaskSeries;
-import org.jfree.data.gantt.TaskSeriesCollection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import task.Task;
 import task.TaskInstance;
@@ -22,179 +25,928 @@ import task.TaskInstance;
  *
  */
 public class Scheduler {
+	/**
+	 * Current instance of every task
+	 */
+	private InstanceTable taskInstances;
+	
+	/**
+	 * Released task instances ordered by priority
+	 */
+	private ReadyQueue readyQueue;
+	
+	/**
+	 * Next release or deadline of every task
+	 */
+	private TimeQueue eventQueue;
+	
+	/**
+	 * Tasks which miss a deadline at the same time, in priority order
+	 */
+	private int[] missed;
+	
+	/**
+	 * Result of the schedule
+	 */
+	private ScheduleResult result;
+	
+	/**
+	 * Receives every execution and deadline miss, may be null
+	 */
+	private ScheduleListener listener;
+	
+	/**
+	 * Receives the progress of the schedule, may be null
+	 */
+	private ProgressListener progressListener;
+	
+	/**
+	 * True if every execution is stored in the result
+	 */
+	private boolean recordSegments;
+	
+	/**
+	 * True if the schedule stops at the first mandatory deadline miss
+	 */
+	private boolean failFast;
+	
+	/**
+	 * True once the schedule has stopped at a mandatory deadline miss
+	 */
+	private boolean stopped = false;
+	
+	/**
+	 * Mandatory instances replayed from an earlier schedule, may be null
+	 */
+	private MandatoryReplay replay;
+	
+	/**
+	 * Runtime measurements of every task, may be null
+	 */
+	private ScheduleMetrics metrics;
+	
+	/**
+	 * Checks the (m, k) constraint of every task
+	 */
+	private ConstraintVerifier verifier;
+	
 	/**
 	 * Create an (m, k)-RMS schedule of the list of tasks given.
 	 * @param tasks - List of tasks which need to be scheduled
 	 * @param taskComparator - Scheduling algorithm used on the base tasks [RMS]
 	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances [(m, k)-Firm]
-	 * @param textArea - Text box for all messages when scheduling
-	 * @return TaskSeriesCollection of all tasks in schedule
+	 * @return Result of the schedule
 	 */
-	public static TaskSeriesCollection createSchedule(List<Task> tasks, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, JTextArea textArea) {
-		Map<String, org.jfree.data.gantt.Task> taskMap = new LinkedHashMap<String, org.jfree.data.gantt.Task>();
+	public static ScheduleResult createSchedule(List<Task> tasks, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator) {
+		return createSchedule(tasks, taskComparator, taskInstanceComparator, new ScheduleOptions());
+	}
+	
+	/**
+	 * Create an (m, k)-RMS schedule of the list of tasks given.<br>
+	 * The schedule jumps from event to event (release, completion, deadline),<br>
+	 * so the task instance ordering must only change at those events.<br>
+	 * The list is not changed, so it can be scheduled by many threads at once.
+	 * @param tasks - List of tasks which need to be scheduled
+	 * @param taskComparator - Scheduling algorithm used on the base tasks [RMS]
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances [(m, k)-Firm]
+	 * @param options - Settings of the schedule
+	 * @return Result of the schedule
+	 * @throws CancellationException If the thread is interrupted while scheduling
+	 */
+	public static ScheduleResult createSchedule(List<Task> tasks, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, ScheduleOptions options) {
+		return createSchedule(tasks, taskComparator, taskInstanceComparator, options, null);
+	}
+	
+	/**
+	 * Create an (m, k)-RMS schedule of the list of tasks given, reusing an earlier schedule.<br>
+	 * Mandatory instances run before every optional instance, so the mandatory instances of<br>
+	 * the tasks with a higher priority than every changed task are the same in both schedules,<br>
+	 * and are copied instead of simulated. The result is the same as without the earlier schedule.
+	 * @param tasks - List of tasks which need to be scheduled
+	 * @param taskComparator - Scheduling algorithm used on the base tasks [RMS]
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances [(m, k)-Firm],<br>
+	 * which must order every mandatory instance before every optional instance
+	 * @param options - Settings of the schedule
+	 * @param previous - Result of an earlier schedule with the same comparators, may be null.<br>
+	 * It is only reused if it recorded its segments, is at least as long as this schedule<br>
+	 * and the options have no listener or policy and do not fail fast
+	 * @return Result of the schedule
+	 * @throws CancellationException If the thread is interrupted while scheduling
+	 */
+	public static ScheduleResult createSchedule(List<Task> tasks, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, ScheduleOptions options, ScheduleResult previous) {
+		List<Task> sorted = sortTasks(tasks, taskComparator);
+		long length = getLength(sorted);
 		
-		int curTaskStartTime = 0, curTime = 0;
-		TaskInstance curTaskInstance = null;
+		// Only schedule the start of the hyperperiod if it is too long
+		boolean bounded = length > options.getMaxLength();
+		length = Math.min(length, options.getMaxLength());
 		
-		boolean schedulingFailed = false;
+		if(options.getProcessors() > 1 && options.getPartitioner() != null) {
+			return schedulePartitioned(sorted, taskComparator, taskInstanceComparator, options, length, bounded);
+		}
 		
-		List<TaskInstance> taskInstances = new ArrayList<TaskInstance>();
+		return schedule(sorted, taskComparator, taskInstanceComparator, options, previous, length, bounded);
+	}
+	
+	/**
+	 * Find the total length of the schedule of sorted tasks. The state of the schedule (release<br>
+	 * times and instance numbers mod k) can only repeat after a multiple of lcm(P) and of every<br>
+	 * P * k, so it never repeats before this length and the schedule cannot be ended sooner by finding a cycle.
+	 * @param sorted - Tasks sorted by taskComparator
+	 * @return Length of the schedule, Long.MAX_VALUE if it is too large to compute
+	 */
+	static long getLength(List<Task> sorted) {
+		long[] periods = new long[sorted.size()];
 		
-		Collections.sort(tasks, taskComparator);
+		for(int i = 0; i < sorted.size(); i++) {
+			periods[i] = sorted.get(i).getP();
+		}
 		
-		long[] periods = new long[tasks.size()];
+		try {
+			long length = SchedulerUtils.lcm(periods);
+			
+			for(Task task : sorted) {
+				length = Math.max(length, SchedulerUtils.multiply(task.getP(), task.getPattern().getK()));
+			}
+			
+			return length;
+		}
+		catch(ArithmeticException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+	
+	/**
+	 * Normalize sorted tasks. The schedule of m/k is the same as of m/k divided by gcd(m, k),<br>
+	 * but the constraint is checked with m and k.
+	 * @param sorted - Tasks sorted by taskComparator
+	 * @return Normalized tasks in the same order
+	 */
+	static List<Task> normalize(List<Task> sorted) {
+		List<Task> tasks = new ArrayList<Task>(sorted.size());
+		for(Task task : sorted) {
+			tasks.add(task.normalize());
+		}
+		
+		return tasks;
+	}
+	
+	/**
+	 * Find the modifier of the instance number of every task, so tasks with the same k<br>
+	 * do not have their optional instances at the same time.
+	 * @param tasks - Normalized tasks sorted by taskComparator
+	 * @return Modifier for Instance Number of each task
+	 */
+	static int[] getA2(List<Task> tasks) {
+		int[] a2 = new int[tasks.size()];
 		
 		// Populate the first instances of each task
 		for(int i = 0; i < tasks.size(); i++) {
 			Task task = tasks.get(i);
 			
-			periods[i] = BigInteger.valueOf(task.getM()).gcd(BigInteger.valueOf(task.getK())).intValue();
-			task.setM(task.getM() / (int)periods[i]);
-			task.setK(task.getK() / (int)periods[i]);
-			
-			periods[i] = 0;
-			
 			// Check if any other task instances have the same optional instances
 			for(int j = 0; j < i; j++) {
 				if(task.getK() == tasks.get(j).getK()) {
-					periods[i] += Math.min(task.getM(), tasks.get(j).getM());
+					a2[i] += Math.min(task.getM(), tasks.get(j).getM());
 				}
 			}
-			
-			taskInstances.add(new TaskInstance(task, 0, (int)periods[i], i, tasks.size(), 0));
-			
-			periods[i] = task.getP();
-			curTime = Math.max(curTime, (int)periods[i] * task.getK());
 		}
 		
-		// The total length of the schedule
-		long lcm = Math.max(SchedulerUtils.lcm(periods), curTime) - 1;
+		return a2;
+	}
+	
+	/**
+	 * Schedule sorted tasks on the processors of the options, which all share one ready queue.
+	 * @param sorted - Tasks sorted by taskComparator
+	 * @param taskComparator - Scheduling algorithm used on the base tasks
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances
+	 * @param options - Settings of the schedule
+	 * @param previous - Result of an earlier schedule with the same comparators, may be null
+	 * @param length - Length of the schedule
+	 * @param bounded - True if the schedule is shorter than the hyperperiod
+	 * @return Result of the schedule
+	 */
+	private static ScheduleResult schedule(List<Task> sorted, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, ScheduleOptions options, ScheduleResult previous, long length, boolean bounded) {
+		List<Task> tasks = normalize(sorted);
+		return schedule(sorted, tasks, getA2(tasks), taskComparator, taskInstanceComparator, options, previous, length, bounded);
+	}
+	
+	/**
+	 * Schedule sorted tasks which are already normalized, on the processors of the options.<br>
+	 * The normalized tasks and the modifiers are only read, so schedules running at the same<br>
+	 * time can share them.
+	 * @param sorted - Tasks sorted by taskComparator
+	 * @param tasks - Normalized tasks in the same order
+	 * @param a2 - Modifier for Instance Number of each task
+	 * @param taskComparator - Scheduling algorithm used on the base tasks
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances
+	 * @param options - Settings of the schedule
+	 * @param previous - Result of an earlier schedule with the same comparators, may be null
+	 * @param length - Length of the schedule
+	 * @param bounded - True if the schedule is shorter than the hyperperiod
+	 * @return Result of the schedule
+	 */
+	static ScheduleResult schedule(List<Task> sorted, List<Task> tasks, int[] a2, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, ScheduleOptions options, ScheduleResult previous, long length, boolean bounded) {
+		boolean complete = options.isRecordSegments() && !options.isFailFast();
+		int processors = options.getProcessors();
 		
+		// A listener would not receive the replayed instances, and only one processor can be replayed.
+		// A policy may order higher priority tasks by the lower ones, so their schedule is not replayed
+		MandatoryReplay replay = complete && options.getListener() == null && processors == 1 && options.getPolicy() == null ? MandatoryReplay.create(tasks, taskComparator, length, previous) : null;
 		
-		double[] taskMQR = new double[tasks.size()];
+		// Policies keep the m and k of the tasks, like the constraint check
+		PolicyState policy = options.getPolicy() != null ? options.getPolicy().create(sorted, length) : null;
 		
-		for(int i = 0; i < tasks.size(); i++) {
-			taskMap.put(tasks.get(i).getName(), SchedulerUtils.createTask(tasks.get(i).getName(), 1, (int)lcm));
-			taskMQR[i] = 0.0;
+		Scheduler scheduler = new Scheduler(tasks, a2, taskComparator, taskInstanceComparator, policy, new ScheduleResult(sorted, length, bounded, complete, processors), options, replay);
+		
+		if(processors > 1) {
+			scheduler.runGlobal(length, processors);
+		}
+		else {
+			scheduler.run(length);
 		}
 		
-		curTime = 0;
+		return scheduler.result;
+	}
+	
+	/**
+	 * Assign sorted tasks to processors, then schedule every processor on its own thread.<br>
+	 * Every processor is scheduled for the same length, so the results can be combined. A fail-fast<br>
+	 * schedule stops every processor when the first one misses a mandatory deadline, so its first<br>
+	 * mandatory miss is the first of that processor, not always the earliest of every processor.
+	 * @param sorted - Tasks sorted by taskComparator
+	 * @param taskComparator - Scheduling algorithm used on the base tasks
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances
+	 * @param options - Settings of the schedule
+	 * @param length - Length of the schedule
+	 * @param bounded - True if the schedule is shorter than the hyperperiod
+	 * @return Combined result of every processor
+	 * @throws IllegalArgumentException if the options have a listener, or the partitioner assigns a task to no processor
+	 * @throws CancellationException If the thread is interrupted while scheduling
+	 */
+	static ScheduleResult schedulePartitioned(final List<Task> sorted, final Comparator<Task> taskComparator, final Comparator<TaskInstance> taskInstanceComparator, ScheduleOptions options, final long length, final boolean bounded) {
+		if(options.getListener() != null) {
+			throw new IllegalArgumentException("A listener cannot be used with a partitioned schedule");
+		}
+		
+		int processors = options.getProcessors();
+		int[] taskCore = options.getPartitioner().partition(sorted, processors);
+		int[] counts = new int[processors];
+		
+		if(taskCore == null || taskCore.length != sorted.size()) {
+			throw new IllegalArgumentException("Partitioner must assign every task to a processor");
+		}
 		
-		for(boolean curTimeUsed = false; curTime <= lcm; curTimeUsed = false) {
-			schedulingFailed = checkDeadlines(schedulingFailed, taskInstances, curTime, textArea);
+		for(int core : taskCore) {
+			if(core < 0 || core >= processors) {
+				throw new IllegalArgumentException("Partitioner assigned a task to processor " + core + " of " + processors);
+			}
 			
-			Collections.sort(taskInstances, taskInstanceComparator);
+			counts[core]++;
+		}
+		
+		// Tasks of each processor keep their order, so they are still sorted
+		final int[][] slots = new int[processors][];
+		for(int core = 0; core < processors; core++) {
+			slots[core] = new int[counts[core]];
+			counts[core] = 0;
+		}
+		
+		for(int i = 0; i < taskCore.length; i++) {
+			slots[taskCore[i]][counts[taskCore[i]]++] = i;
+		}
+		
+		int used = 0;
+		for(int core = 0; core < processors; core++) {
+			used += slots[core].length > 0 ? 1 : 0;
+		}
+		
+		// The progress of the whole schedule is the average progress of the processors with tasks
+		final ProgressListener progressListener = options.getProgressListener();
+		final long[] progress = new long[processors];
+		final int cores = used;
+		
+		List<Callable<ScheduleResult>> calls = new ArrayList<Callable<ScheduleResult>>();
+		
+		for(int core = 0; core < processors; core++) {
+			if(slots[core].length == 0) {
+				continue;
+			}
 			
-			for(int i = 0; i < tasks.size() && !curTimeUsed; i++) {
-				TaskInstance taskInstance = taskInstances.get(i);
-				
-				if(taskInstance.getR() <= curTime) {
-					// This is a continuing task instance
-					if(!taskInstance.equals(curTaskInstance)) {
-						if(curTaskInstance != null) {
-							org.jfree.data.gantt.Task task = SchedulerUtils.createTask(curTaskInstance.getParent().getName(), curTaskStartTime-1, curTime);
-							task.setPercentComplete(curTaskInstance.isMandatory() ? 1.0 : 0.0);
-							taskMap.get(curTaskInstance.getParent().getName()).addSubtask(task);
+			final int processor = core;
+			final ScheduleOptions coreOptions = new ScheduleOptions();
+			coreOptions.setMaxLength(options.getMaxLength());
+			coreOptions.setRecordSegments(options.isRecordSegments());
+			coreOptions.setFailFast(options.isFailFast());
+			coreOptions.setRecordMetrics(options.isRecordMetrics());
+			coreOptions.setPolicy(options.getPolicy());
+			
+			if(progressListener != null) {
+				coreOptions.setProgressListener(new ProgressListener() {
+					public void progressChanged(long time, long length) {
+						synchronized(progress) {
+							progress[processor] = time;
+							
+							long total = 0;
+							for(long coreTime : progress) {
+								total += coreTime;
+							}
+							
+							progressListener.progressChanged(total / cores, length);
 						}
-						
-						curTaskStartTime = curTime + 1;
-						curTaskInstance = taskInstance;
 					}
-					
-					// Check if the task instance can execute
-					if(taskInstance.doComputation(curTime, curTime + 1)) {
-						curTimeUsed = true;
-						curTime++;
-						taskMQR[tasks.indexOf(taskInstance.getParent())] += 1.0 / taskInstance.getParent().getC();
+				});
+			}
+			
+			calls.add(new Callable<ScheduleResult>() {
+				public ScheduleResult call() {
+					List<Task> tasks = new ArrayList<Task>(slots[processor].length);
+					for(int slot : slots[processor]) {
+						tasks.add(sorted.get(slot));
 					}
 					
-					// Task instance is about to finish
-					if(taskInstance.getT() < 1) {
-						org.jfree.data.gantt.Task task = SchedulerUtils.createTask(curTaskInstance.getParent().getName(), curTaskStartTime-1, curTime);
-						task.setPercentComplete(curTaskInstance.isMandatory() ? 1.0 : 0.0);
-						taskMap.get(curTaskInstance.getParent().getName()).addSubtask(task);
-						taskInstances.set(i, new TaskInstance(taskInstance.getParent(), taskInstance.getA() + 1, taskInstance.getA2(), i, taskInstances.size(), (taskInstance.getA() + 1) * taskInstance.getParent().getP()));
-						curTaskInstance = null;
-					}
+					return schedule(tasks, taskComparator, taskInstanceComparator, coreOptions, null, length, bounded);
+				}
+			});
+		}
+		
+		ScheduleResult[] results = new ScheduleResult[processors];
+		ExecutorService pool = Executors.newFixedThreadPool(cores);
+		
+		try {
+			CompletionService<ScheduleResult> completion = new ExecutorCompletionService<ScheduleResult>(pool);
+			Map<Future<ScheduleResult>, Integer> futureCores = new HashMap<Future<ScheduleResult>, Integer>();
+			
+			for(int core = 0, call = 0; core < processors; core++) {
+				if(slots[core].length > 0) {
+					futureCores.put(completion.submit(calls.get(call++)), core);
 				}
 			}
-			if(!curTimeUsed) {
-				curTime++;
+			
+			// Once a processor misses a mandatory deadline a fail-fast schedule has failed, so the others are stopped
+			for(int call = 0; call < calls.size(); call++) {
+				Future<ScheduleResult> future = completion.take();
+				int core = futureCores.get(future);
+				results[core] = future.get();
+				
+				if(options.isFailFast() && !results[core].isSucceeded()) {
+					break;
+				}
+			}
+		}
+		catch(InterruptedException e) {
+			throw new CancellationException("Scheduling was cancelled");
+		}
+		catch(ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			
+			throw new IllegalStateException(e.getCause());
+		}
+		finally {
+			pool.shutdownNow();
+		}
+		
+		ScheduleResult result = new ScheduleResult(sorted, length, bounded, options.isRecordSegments() && !options.isFailFast(), processors);
+		result.setTaskCore(taskCore);
+		
+		ScheduleMetrics metrics = options.isRecordMetrics() && !options.isFailFast() ? new ScheduleMetrics(sorted, length) : null;
+		result.setMetrics(metrics);
+		
+		ConstraintViolation violation = null;
+		
+		for(int core = 0; core < processors; core++) {
+			ScheduleResult coreResult = results[core];
+			
+			if(coreResult == null) {
+				continue;
+			}
+			
+			for(int i = 0; i < slots[core].length; i++) {
+				result.addExecutedTime(slots[core][i], coreResult.getExecutedTime(i));
+				
+				if(metrics != null) {
+					metrics.copy(slots[core][i], coreResult.getMetrics(), i);
+				}
+			}
+			
+			ConstraintViolation coreViolation = coreResult.getFirstViolation();
+			
+			if(coreViolation != null && (violation == null || coreViolation.getTime() < violation.getTime())) {
+				violation = new ConstraintViolation(slots[core][coreViolation.getTask()], coreViolation.getFirst(), coreViolation.getLast(), coreViolation.getTime());
 			}
 		}
 		
-		TaskSeriesCollection taskCollection = new TaskSeriesCollection();
-		TaskSeries taskSeries = new TaskSeries("");
+		result.setViolation(violation);
 		
-		schedulingFailed = checkDeadlines(schedulingFailed, taskInstances, curTime, textArea);
+		// Merge the executions of every processor in order of their end times
+		int[] next = new int[processors];
 		
-		List<Double> avgMQR = new ArrayList<Double>();
+		while(true) {
+			int core = -1;
+			
+			for(int i = 0; i < processors; i++) {
+				if(results[i] != null && next[i] < results[i].getSegmentCount() && (core < 0 || results[i].getSegmentEnd(next[i]) < results[core].getSegmentEnd(next[core]))) {
+					core = i;
+				}
+			}
+			
+			if(core < 0) {
+				break;
+			}
+			
+			int segment = next[core]++;
+			result.addSegment(slots[core][results[core].getSegmentTask(segment)], results[core].getSegmentStart(segment), results[core].getSegmentEnd(segment), results[core].isSegmentMandatory(segment), core);
+		}
+		
+		// Merge the deadline misses of every processor in order of their times
+		List<List<DeadlineMiss>> misses = new ArrayList<List<DeadlineMiss>>(processors);
+		for(int core = 0; core < processors; core++) {
+			misses.add(results[core] != null ? results[core].getDeadlineMisses() : Collections.<DeadlineMiss>emptyList());
+			next[core] = 0;
+		}
+		
+		while(true) {
+			int core = -1;
+			
+			for(int i = 0; i < processors; i++) {
+				if(next[i] < misses.get(i).size() && (core < 0 || misses.get(i).get(next[i]).getTime() < misses.get(core).get(next[core]).getTime())) {
+					core = i;
+				}
+			}
+			
+			if(core < 0) {
+				break;
+			}
+			
+			DeadlineMiss deadlineMiss = misses.get(core).get(next[core]++);
+			result.addDeadlineMiss(slots[core][deadlineMiss.getTask()], deadlineMiss.getA(), deadlineMiss.getTime(), deadlineMiss.isMandatory());
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Sort a copy of a list of tasks in the order they are scheduled.
+	 * @param tasks - List of tasks
+	 * @param taskComparator - Scheduling algorithm used on the base tasks
+	 * @return Sorted copy of the tasks
+	 */
+	static List<Task> sortTasks(List<Task> tasks, Comparator<Task> taskComparator) {
+		List<Task> sorted = new ArrayList<Task>(tasks);
+		Collections.sort(sorted, taskComparator);
+		return sorted;
+	}
+	
+	/**
+	 * Create a scheduler with the first instance of every task released at time 0.
+	 * @param tasks - List of tasks sorted by taskComparator
+	 * @param a2 - Modifier for Instance Number of each task
+	 * @param taskComparator - Scheduling algorithm used on the base tasks
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances
+	 * @param policy - State of the scheduling policy used instead of taskInstanceComparator, may be null
+	 * @param result - Result of the schedule
+	 * @param options - Settings of the schedule
+	 * @param replay - Mandatory instances replayed from an earlier schedule, may be null
+	 */
+	private Scheduler(List<Task> tasks, int[] a2, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, PolicyState policy, ScheduleResult result, ScheduleOptions options, MandatoryReplay replay) {
+		this.taskInstances = new InstanceTable(tasks, a2, policy);
+		this.readyQueue = new ReadyQueue(this.taskInstances, taskComparator, taskInstanceComparator);
+		this.eventQueue = new TimeQueue(tasks.size());
+		this.missed = new int[tasks.size()];
+		this.result = result;
+		this.listener = options.getListener();
+		this.progressListener = options.getProgressListener();
+		this.failFast = options.isFailFast();
+		this.recordSegments = options.isRecordSegments() && !failFast;
+		this.replay = replay;
+		this.verifier = new ConstraintVerifier(result.getTasks(), result.getLength());
+		
+		if(options.isRecordMetrics() && !failFast) {
+			this.metrics = new ScheduleMetrics(tasks, result.getLength());
+			result.setMetrics(this.metrics);
+		}
 		
-		// Get the MQR of every task
 		for(int i = 0; i < tasks.size(); i++) {
-			Task task = tasks.get(i);
+			// Only the optional instances of a replayed task are simulated
+			if(replay != null && replay.isReplayed(i) && !taskInstances.skipMandatory(i)) {
+				continue;
+			}
 			
-			double k = (double)(lcm + 1) / task.getP();
-			double m = k * ((double)task.getM() / task.getK());
+			eventQueue.add(i, taskInstances.getR(i));
+		}
+	}
+	
+	/**
+	 * Simulate the schedule from time 0 to the length given.
+	 * @param length - Length of the schedule
+	 */
+	private void run(long length) {
+		long curTaskStartTime = 0, curTime = 0, curA = -1, nextProgressTime = 0;
+		int curTask = -1, events = 0;
+		boolean curMandatory = false;
+		
+		// Jump straight to the next event instead of stepping every time unit
+		while(curTime < length) {
+			if(curTime >= nextProgressTime) {
+				if(progressListener != null) {
+					progressListener.progressChanged(curTime, length);
+				}
+				
+				nextProgressTime = progressTime(curTime, length);
+			}
 			
-			if(task.getM() != task.getK()) {
-				avgMQR.add((taskMQR[i] - m) / (k - m));
+			if((++events & 1023) == 0 && Thread.currentThread().isInterrupted()) {
+				throw new CancellationException("Scheduling was cancelled");
 			}
 			
-			textArea.append(task.getName() + " MQR: (" + taskMQR[i] + " - " + m + ") / (" + k + " - " + m + ") = " + (task.getM() == task.getK() ? 0.0 : (taskMQR[i] - m) / (k - m)) + "\n");
+			checkDeadlines(curTime);
+			
+			if(stopped) {
+				break;
+			}
+			
+			readyQueue.reorder();
+			
+			// A replayed mandatory instance runs before every simulated task instance
+			if(replay != null && replay.getStart() <= curTime) {
+				if(curTask >= 0) {
+					addSegment(curTask, curTaskStartTime, curTime, curMandatory, 0);
+					curTask = -1;
+				}
+				
+				long endTime = Math.min(Math.min(replay.getEnd(), eventQueue.peekTime()), length);
+				result.addExecutedTime(replay.getTask(), endTime - curTime);
+				curTime = endTime;
+				
+				if(curTime == replay.getEnd()) {
+					if(replay.isRecorded()) {
+						addSegment(replay.getTask(), replay.getStart(), curTime, true, 0);
+					}
+					else {
+						result.setUnfinished(replay.getTask(), replay.getStart(), true);
+					}
+					
+					replay.next();
+				}
+				
+				continue;
+			}
+			
+			long replayTime = replay != null ? replay.getStart() : Long.MAX_VALUE;
+			int i = readyQueue.peek();
+			
+			if(i < 0) {
+				curTime = Math.min(Math.min(eventQueue.peekTime(), length), replayTime);
+				continue;
+			}
+			
+			// This is a continuing task instance
+			if(i != curTask || taskInstances.getA(i) != curA) {
+				if(curTask >= 0) {
+					addSegment(curTask, curTaskStartTime, curTime, curMandatory, 0);
+				}
+				
+				curTaskStartTime = curTime;
+				curTask = i;
+				curA = taskInstances.getA(i);
+				curMandatory = taskInstances.isMandatory(i);
+			}
+			
+			// Run the task instance until it finishes or the next event can change the schedule
+			long endTime = Math.min(Math.min(Math.min(curTime + taskInstances.getT(i), eventQueue.peekTime()), length), replayTime);
+			
+			if(taskInstances.execute(i, curTime, endTime)) {
+				if(!failFast) {
+					result.addExecutedTime(i, endTime - curTime);
+				}
+				
+				curTime = endTime;
+			}
+			
+			// Task instance is about to finish
+			if(taskInstances.getT(i) < 1) {
+				addSegment(i, curTaskStartTime, curTime, curMandatory, 0);
+				
+				if(listener != null) {
+					listener.taskCompleted(i, taskInstances.getA(i), curTime, curMandatory);
+				}
+				
+				nextInstance(i, true);
+				curTask = -1;
+			}
+		}
+		
+		if(!stopped) {
+			// The execution still running at the end is not a segment, but is needed to replay this schedule
+			if(curTask >= 0 && taskInstances.getA(curTask) == curA) {
+				result.setUnfinished(curTask, curTaskStartTime, curMandatory);
+			}
+			
+			checkDeadlines(curTime);
 		}
 		
-		double mqr = 0.0;
+		if(metrics != null) {
+			metrics.finish();
+		}
 		
-		textArea.append("Average MQR: " + (avgMQR.size() < 2 ? (avgMQR.isEmpty() ? "0.0" : "") : "("));
+		result.setViolation(verifier.getViolation());
 		
-		for(int i = 0; i < avgMQR.size(); i++) {
-			mqr += avgMQR.get(i);
-			textArea.append(avgMQR.get(i) + (i < avgMQR.size() - 1 ? " + " : avgMQR.size() < 2 ? "" : ") / " + avgMQR.size() + " = " + mqr / avgMQR.size()));
+		if(progressListener != null) {
+			progressListener.progressChanged(length, length);
 		}
+	}
+	
+	/**
+	 * Simulate the schedule from time 0 to the length given on more than one processor. At every<br>
+	 * event the released instances with the highest priorities run, one on each processor. An<br>
+	 * instance which keeps running stays on its processor, the others take the first idle one.
+	 * @param length - Length of the schedule
+	 * @param processors - Number of processors
+	 */
+	private void runGlobal(long length, int processors) {
+		long curTime = 0, nextProgressTime = 0;
+		int events = 0;
+		
+		// Instance running on each processor, -1 if idle, and the processor of each slot, -1 if not running
+		int[] coreTask = new int[processors], taskCore = new int[taskInstances.size()], selected = new int[processors];
+		long[] coreStart = new long[processors], coreA = new long[processors];
+		boolean[] coreMandatory = new boolean[processors];
 		
-		textArea.append("\n" + (schedulingFailed ? "Scheduling Failed" : "Scheduling Succeeded"));
+		Arrays.fill(coreTask, -1);
+		Arrays.fill(taskCore, -1);
 		
-		// Populate the graph with task instances
-		for(String task : taskMap.keySet()) {
-			if(taskMap.get(task).getSubtaskCount() > 0) {
-				taskSeries.add(taskMap.get(task));
+		while(curTime < length) {
+			if(curTime >= nextProgressTime) {
+				if(progressListener != null) {
+					progressListener.progressChanged(curTime, length);
+				}
+				
+				nextProgressTime = progressTime(curTime, length);
 			}
-			else {
-				taskSeries.add(SchedulerUtils.createTask(task, 1, 1));
+			
+			if((++events & 1023) == 0 && Thread.currentThread().isInterrupted()) {
+				throw new CancellationException("Scheduling was cancelled");
+			}
+			
+			checkDeadlines(curTime);
+			
+			if(stopped) {
+				break;
+			}
+			
+			readyQueue.reorder();
+			
+			// Take the highest priority instances out of the queue, then put them back
+			int count = 0;
+			for(; count < processors && !readyQueue.isEmpty(); count++) {
+				selected[count] = readyQueue.peek();
+				readyQueue.remove(selected[count]);
+			}
+			
+			for(int j = 0; j < count; j++) {
+				readyQueue.add(selected[j]);
+			}
+			
+			// Stop the instances which were preempted or missed their deadline
+			for(int core = 0; core < processors; core++) {
+				int i = coreTask[core];
+				
+				if(i >= 0 && (taskInstances.getA(i) != coreA[core] || !contains(selected, count, i))) {
+					addSegment(i, coreStart[core], curTime, coreMandatory[core], core);
+					coreTask[core] = -1;
+					taskCore[i] = -1;
+				}
+			}
+			
+			long endTime = Math.min(eventQueue.peekTime(), length);
+			
+			for(int j = 0; j < count; j++) {
+				int i = selected[j];
+				
+				if(taskCore[i] < 0) {
+					int core = 0;
+					while(coreTask[core] >= 0) {
+						core++;
+					}
+					
+					coreTask[core] = i;
+					coreStart[core] = curTime;
+					coreA[core] = taskInstances.getA(i);
+					coreMandatory[core] = taskInstances.isMandatory(i);
+					taskCore[i] = core;
+				}
+				
+				// Run until an instance finishes or the next event can change the schedule
+				endTime = Math.min(endTime, curTime + taskInstances.getT(i));
+			}
+			
+			for(int j = 0; j < count; j++) {
+				if(taskInstances.execute(selected[j], curTime, endTime) && !failFast) {
+					result.addExecutedTime(selected[j], endTime - curTime);
+				}
 			}
+			
+			curTime = endTime;
+			
+			for(int j = 0; j < count; j++) {
+				int i = selected[j], core = taskCore[i];
+				
+				// Task instance is about to finish
+				if(taskInstances.getT(i) < 1) {
+					addSegment(i, coreStart[core], curTime, coreMandatory[core], core);
+					
+					if(listener != null) {
+						listener.taskCompleted(i, taskInstances.getA(i), curTime, coreMandatory[core]);
+					}
+					
+					nextInstance(i, true);
+					coreTask[core] = -1;
+					taskCore[i] = -1;
+				}
+			}
+		}
+		
+		if(!stopped) {
+			checkDeadlines(curTime);
+		}
+		
+		if(metrics != null) {
+			metrics.finish();
 		}
 		
-		taskCollection.add(taskSeries);
+		result.setViolation(verifier.getViolation());
 		
-		return taskCollection;
+		if(progressListener != null) {
+			progressListener.progressChanged(length, length);
+		}
 	}
 	
 	/**
-	 * Check all tasks and see if they have missed their deadlines.
-	 * @param missDeadline - A task has already missed the deadline
-	 * @param taskInstances - List of task instances to check for deadlines
+	 * Check if a slot is one of the first slots of an array.
+	 * @param slots - Array of slots
+	 * @param count - Number of slots to check
+	 * @param slot - Slot to find
+	 * @return True if the slot is found, false otherwise
+	 */
+	private static boolean contains(int[] slots, int count, int slot) {
+		for(int i = 0; i < count; i++) {
+			if(slots[i] == slot) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Find the first time at which another percent of the schedule has been simulated.
+	 * @param curTime - Current time in schedule
+	 * @param length - Length of the schedule
+	 * @return Time of the next percent
+	 */
+	private static long progressTime(long curTime, long length) {
+		int percent = (int)((double)curTime / length * 100);
+		return Math.max(curTime + 1, (long)Math.ceil((percent + 1) * ((double)length / 100)));
+	}
+	
+	/**
+	 * Record the time a task instance executed.
+	 * @param task - Index of the task
+	 * @param start - Start time
+	 * @param end - End time
+	 * @param isMandatory - True if the task instance was mandatory
+	 * @param core - Processor which executed the task instance
+	 */
+	private void addSegment(int task, long start, long end, boolean isMandatory, int core) {
+		if(recordSegments) {
+			result.addSegment(task, start, end, isMandatory, core);
+		}
+		
+		if(metrics != null) {
+			metrics.taskExecuted(task, start, end);
+		}
+		
+		if(listener != null) {
+			listener.taskExecuted(task, start, end, isMandatory);
+		}
+	}
+	
+	/**
+	 * Check all tasks and see if they have missed their deadlines, then release<br>
+	 * every task instance whose ready time has been reached.
 	 * @param curTime - Current time in schedule
-	 * @param textArea - Text box for all messages when scheduling
-	 * @return True if a deadline was missed, false otherwise
 	 */
-	public static boolean checkDeadlines(boolean missDeadline, List<TaskInstance> taskInstances, int curTime, JTextArea textArea) {
-		for(int i = 0; i < taskInstances.size();) {
-			TaskInstance taskInstance = taskInstances.get(i);
+	private void checkDeadlines(long curTime) {
+		int missedCount = 0;
+		
+		while(eventQueue.peekTime() <= curTime) {
+			int i = eventQueue.peek();
 			
-			if(taskInstance.getT() > 0 && taskInstance.isPastDeadline(curTime)) {
-				if(taskInstance.isMandatory()) {
-					textArea.append("Task " + taskInstance.getParent().getName() + " missed deadline at time " + curTime + ".\n");
-					missDeadline = true;
+			if(readyQueue.contains(i)) {
+				// Keep the misses in priority order
+				int j = missedCount++;
+				
+				for(; j > 0 && readyQueue.isBefore(i, missed[j - 1]); j--) {
+					missed[j] = missed[j - 1];
 				}
 				
-				taskInstances.set(i, new TaskInstance(taskInstance.getParent(), taskInstance.getA() + 1, taskInstance.getA2(), i, taskInstances.size(), (taskInstance.getA() + 1) * taskInstance.getParent().getP()));
+				missed[j] = i;
+				eventQueue.remove(i);
 			}
 			else {
-				i++;
+				release(i, curTime);
 			}
 		}
 		
-		return missDeadline;
+		for(int j = 0; j < missedCount; j++) {
+			int i = missed[j];
+			boolean isMandatory = taskInstances.isMandatory(i);
+			
+			if(replay != null) {
+				replayMisses(curTime, isMandatory ? i : missed.length);
+			}
+			
+			if(!failFast || isMandatory) {
+				result.addDeadlineMiss(i, taskInstances.getA(i), curTime, isMandatory);
+			}
+			
+			verifier.deadlineMissed(i, curTime);
+			
+			if(metrics != null) {
+				metrics.deadlineMissed(i);
+			}
+			
+			if(listener != null) {
+				listener.deadlineMissed(i, taskInstances.getA(i), curTime, isMandatory);
+			}
+			
+			// The verdict is known, so there is no need to simulate any further
+			if(failFast && isMandatory) {
+				stopped = true;
+				return;
+			}
+			
+			nextInstance(i, false);
+			
+			// The next instance is released at the deadline of this one
+			if(taskInstances.getR(i) <= curTime) {
+				release(i, curTime);
+			}
+		}
+		
+		if(replay != null) {
+			replayMisses(curTime, missed.length);
+		}
+	}
+	
+	/**
+	 * Add the replayed deadline misses until the current time, which come before a simulated<br>
+	 * deadline miss of a mandatory instance in a slot. Misses at the same time are in priority order.
+	 * @param curTime - Current time in schedule
+	 * @param slot - Slot of the simulated mandatory instance, the number of slots for an optional one
+	 */
+	private void replayMisses(long curTime, int slot) {
+		while(replay.getMissTime() < curTime || replay.getMissTime() == curTime && replay.getMissTask() < slot) {
+			result.addDeadlineMiss(replay.getMissTask(), replay.getMissA(), replay.getMissTime(), true);
+			verifier.deadlineMissed(replay.getMissTask(), replay.getMissTime());
+			
+			if(metrics != null) {
+				metrics.deadlineMissed(replay.getMissTask());
+			}
+			
+			replay.nextMiss();
+		}
+	}
+	
+	/**
+	 * Add the instance of a task to the ready queue, and wait for its deadline.
+	 * @param i - Slot of the task
+	 * @param curTime - Current time in schedule
+	 */
+	private void release(int i, long curTime) {
+		readyQueue.add(i);
+		eventQueue.add(i, taskInstances.getD(i));
+		
+		if(listener != null) {
+			listener.taskReleased(i, taskInstances.getA(i), curTime, taskInstances.isMandatory(i));
+		}
+	}
+	
+	/**
+	 * Replace the instance of a task with the next instance of the same task.
+	 * @param i - Slot of the task
+	 * @param met - True if the instance completed by its deadline, false if it missed it
+	 */
+	private void nextInstance(int i, boolean met) {
+		readyQueue.replace(i);
+		taskInstances.nextInstance(i, met);
+		
+		if(replay != null && replay.isReplayed(i)) {
+			taskInstances.skipMandatory(i);
+		}
+		
+		eventQueue.add(i, taskInstances.getR(i));
 	}
-}
\ No newline at end of file
+}
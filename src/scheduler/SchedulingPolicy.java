@@ -0,0 +1,23 @@
+package scheduler;
+
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Scheduling policy which gives every task instance a priority key when it becomes the current<br>
+ * instance of its task, before it is released. The ready queue then only compares keys, so a<br>
+ * policy costs one call per instance instead of one comparator call per comparison. A policy can<br>
+ * be shared by schedules running at the same time, since each schedule creates its own state.
+ * @author Franklin Nelson
+ *
+ */
+public interface SchedulingPolicy {
+	/**
+	 * Create the state of the policy for one schedule.
+	 * @param tasks - Tasks in the order they are scheduled, the slot of a task is its index
+	 * @param length - Length of the schedule
+	 * @return State which gives the priority keys of the schedule
+	 */
+	public PolicyState create(List<Task> tasks, long length);
+}
@@ -0,0 +1,269 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import task.Task;
+import task.TaskInstance;
+
+/**
+ * Finds how far the computation time and the mandatory instances of a set of (m, k)-Firm tasks<br>
+ * can grow before a mandatory deadline is missed, for each task on its own and for all tasks at once.<br>
+ * Every candidate is checked by a schedule which stops at the first mandatory deadline miss, and<br>
+ * each search checks as many candidates at once as there are processors, splitting the range left<br>
+ * into that many parts. The searches assume a task set which is feasible stays feasible with a<br>
+ * smaller value. This holds for the computation time on one processor. The mandatory instances of<br>
+ * a task are spread over k instances, so a smaller m can move them, and the value found for m is<br>
+ * then a value next to an infeasible one, not always the largest. On more than one processor,<br>
+ * a smaller computation time can also miss a deadline a larger one meets, so every value found<br>
+ * is then a feasible value next to an infeasible one, not always the largest.
+ * @author Franklin Nelson
+ *
+ */
+public class SensitivityAnalysis {
+	/**
+	 * Steps of the scaling factors per 1.0, the factors are found to three decimals
+	 */
+	private static final int RESOLUTION = 1000;
+	
+	/**
+	 * Values searched: the C of one task, the m of one task, every C scaled, every m scaled
+	 */
+	private static final int TASK_C = 0, TASK_M = 1, SCALE_C = 2, SCALE_M = 3;
+	
+	/**
+	 * Analyse the sensitivity of the list of tasks given, on one thread per available processor.
+	 * @param tasks - List of tasks which need to be scheduled
+	 * @param taskComparator - Scheduling algorithm used on the base tasks [RMS]
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances [(m, k)-Firm]
+	 * @param options - Settings of the schedules, the listeners only receive the progress of the analysis
+	 * @return Result of the analysis
+	 */
+	public static SensitivityResult analyze(List<Task> tasks, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, ScheduleOptions options) {
+		return analyze(tasks, taskComparator, taskInstanceComparator, options, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Analyse the sensitivity of the list of tasks given. The list is not changed. The progress<br>
+	 * listener of the options receives the number of searches done out of the number of searches.
+	 * @param tasks - List of tasks which need to be scheduled
+	 * @param taskComparator - Scheduling algorithm used on the base tasks [RMS]
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances [(m, k)-Firm]
+	 * @param options - Settings of the schedules, the listeners only receive the progress of the analysis
+	 * @param threads - Number of candidates checked at once
+	 * @return Result of the analysis
+	 */
+	public static SensitivityResult analyze(List<Task> tasks, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, ScheduleOptions options, int threads) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("threads must be at least 1");
+		}
+		
+		List<Task> sorted = Scheduler.sortTasks(tasks, taskComparator);
+		ProgressListener progressListener = options.getProgressListener();
+		
+		// Only the verdict of each schedule is needed
+		ScheduleOptions verdictOptions = new ScheduleOptions();
+		verdictOptions.setMaxLength(options.getMaxLength());
+		verdictOptions.setProcessors(options.getProcessors());
+		verdictOptions.setPartitioner(options.getPartitioner());
+		verdictOptions.setPolicy(options.getPolicy());
+		verdictOptions.setRecordSegments(false);
+		verdictOptions.setRecordMetrics(false);
+		verdictOptions.setFailFast(true);
+		
+		int n = sorted.size(), searches = 2 * n + 2;
+		long[] maxC = new long[n], evaluations = new long[1];
+		int[] maxM = new int[n];
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		
+		try {
+			boolean feasible = isFeasible(sorted, taskComparator, taskInstanceComparator, verdictOptions);
+			evaluations[0]++;
+			
+			for(int i = 0; i < n; i++) {
+				Task task = sorted.get(i);
+				
+				// A feasible task can only grow, an infeasible one can only shrink
+				maxC[i] = feasible ? search(pool, threads, sorted, taskComparator, taskInstanceComparator, verdictOptions, TASK_C, i, task.getC() + 1, task.getP(), task.getC(), evaluations)
+						: search(pool, threads, sorted, taskComparator, taskInstanceComparator, verdictOptions, TASK_C, i, 1, task.getC() - 1, 0, evaluations);
+				progress(progressListener, 2 * i + 1, searches);
+				
+				maxM[i] = (int)(feasible ? search(pool, threads, sorted, taskComparator, taskInstanceComparator, verdictOptions, TASK_M, i, task.getM() + 1, task.getK(), task.getM(), evaluations)
+						: search(pool, threads, sorted, taskComparator, taskInstanceComparator, verdictOptions, TASK_M, i, 0, task.getM() - 1, -1, evaluations));
+				progress(progressListener, 2 * i + 2, searches);
+			}
+			
+			// Largest factors which change a value, beyond them every C is P or every m is k
+			long cLimit = RESOLUTION, mLimit = RESOLUTION;
+			
+			for(Task task : sorted) {
+				cLimit = Math.max(cLimit, (long)Math.floor((double)task.getP() / task.getC() * RESOLUTION));
+				
+				if(task.getM() > 0) {
+					mLimit = Math.max(mLimit, (long)Math.ceil((double)task.getK() / task.getM() * RESOLUTION));
+				}
+			}
+			
+			long cScale = feasible ? search(pool, threads, sorted, taskComparator, taskInstanceComparator, verdictOptions, SCALE_C, -1, RESOLUTION + 1, cLimit, RESOLUTION, evaluations)
+					: search(pool, threads, sorted, taskComparator, taskInstanceComparator, verdictOptions, SCALE_C, -1, 1, RESOLUTION - 1, 0, evaluations);
+			progress(progressListener, searches - 1, searches);
+			
+			long mScale = feasible ? search(pool, threads, sorted, taskComparator, taskInstanceComparator, verdictOptions, SCALE_M, -1, RESOLUTION + 1, mLimit, RESOLUTION, evaluations)
+					: search(pool, threads, sorted, taskComparator, taskInstanceComparator, verdictOptions, SCALE_M, -1, 0, RESOLUTION - 1, -1, evaluations);
+			progress(progressListener, searches, searches);
+			
+			double utilization = 0, mandatoryUtilization = 0;
+			
+			if(cScale > 0) {
+				for(Task task : change(sorted, SCALE_C, -1, cScale)) {
+					utilization += (double)task.getC() / task.getP();
+					mandatoryUtilization += (double)task.getM() * task.getC() / ((double)task.getK() * task.getP());
+				}
+			}
+			
+			return new SensitivityResult(sorted, feasible, maxC, maxM, (double)cScale / RESOLUTION, Math.max(0, (double)mScale / RESOLUTION), utilization, mandatoryUtilization, evaluations[0]);
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Find the largest value in a range for which the tasks are feasible. Each round checks up to<br>
+	 * one candidate per thread, spread evenly over the range, and keeps the range between the last<br>
+	 * feasible candidate and the first infeasible candidate after it.
+	 * @param pool - Threads which check the candidates
+	 * @param threads - Number of threads
+	 * @param tasks - Tasks in priority order
+	 * @param taskComparator - Scheduling algorithm used on the base tasks
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances
+	 * @param options - Settings of the fail-fast schedules
+	 * @param type - Value searched, TASK_C, TASK_M, SCALE_C or SCALE_M
+	 * @param task - Index of the task changed, -1 when every task is scaled
+	 * @param low - Smallest value of the range
+	 * @param high - Largest value of the range
+	 * @param best - Value returned if no value in the range is feasible
+	 * @param evaluations - Number of schedules simulated, increased by the candidates checked
+	 * @return Largest feasible value found
+	 */
+	private static long search(ExecutorService pool, int threads, final List<Task> tasks, final Comparator<Task> taskComparator, final Comparator<TaskInstance> taskInstanceComparator,
+			final ScheduleOptions options, final int type, final int task, long low, long high, long best, long[] evaluations) {
+		while(low <= high) {
+			long range = high - low + 1;
+			int count = (int)Math.min(threads, range);
+			long[] candidates = new long[count];
+			
+			// Candidates split the range into count + 1 parts, or are the whole range if it is small
+			for(int j = 0; j < count; j++) {
+				candidates[j] = count == range ? low + j : low + range / (count + 1) * (j + 1) + Math.min(j + 1, range % (count + 1)) - 1;
+			}
+			
+			List<Callable<Boolean>> calls = new ArrayList<Callable<Boolean>>(count);
+			
+			for(final long candidate : candidates) {
+				calls.add(new Callable<Boolean>() {
+					public Boolean call() {
+						return isFeasible(change(tasks, type, task, candidate), taskComparator, taskInstanceComparator, options);
+					}
+				});
+			}
+			
+			List<Future<Boolean>> futures;
+			
+			try {
+				futures = pool.invokeAll(calls);
+				evaluations[0] += count;
+				
+				int j = 0;
+				while(j < count && futures.get(j).get()) {
+					j++;
+				}
+				
+				if(j > 0) {
+					best = candidates[j - 1];
+					low = candidates[j - 1] + 1;
+				}
+				
+				high = j < count ? candidates[j] - 1 : high;
+			}
+			catch(InterruptedException e) {
+				throw new CancellationException("Analysis was cancelled");
+			}
+			catch(ExecutionException e) {
+				if(e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+		
+		return best;
+	}
+	
+	/**
+	 * Create the tasks with a value changed.
+	 * @param tasks - Tasks in priority order
+	 * @param type - Value changed, TASK_C, TASK_M, SCALE_C or SCALE_M
+	 * @param task - Index of the task changed, -1 when every task is scaled
+	 * @param value - New C or m of the task, or the scaling factor in steps of 1 / RESOLUTION
+	 * @return Tasks with the value changed
+	 */
+	private static List<Task> change(List<Task> tasks, int type, int task, long value) {
+		List<Task> changed = new ArrayList<Task>(tasks.size());
+		
+		for(int i = 0; i < tasks.size(); i++) {
+			Task t = tasks.get(i);
+			long c = t.getC();
+			int m = t.getM();
+			
+			if(type == TASK_C && i == task) {
+				c = value;
+			}
+			else if(type == TASK_M && i == task) {
+				m = (int)value;
+			}
+			else if(type == SCALE_C) {
+				c = Math.min(t.getP(), Math.max(1, (long)Math.floor((double)c * value / RESOLUTION)));
+			}
+			else if(type == SCALE_M) {
+				m = (int)Math.min(t.getK(), (long)Math.floor((double)m * value / RESOLUTION));
+			}
+			
+			changed.add(c == t.getC() && m == t.getM() ? t : new Task(t.getName(), c, t.getP(), m, t.getK()));
+		}
+		
+		return changed;
+	}
+	
+	/**
+	 * Check if the tasks meet every mandatory deadline.
+	 * @param tasks - Tasks to schedule
+	 * @param taskComparator - Scheduling algorithm used on the base tasks
+	 * @param taskInstanceComparator - Scheduling algorithm used on the task instances
+	 * @param options - Settings of the fail-fast schedule
+	 * @return True if the tasks are feasible, false otherwise
+	 */
+	private static boolean isFeasible(List<Task> tasks, Comparator<Task> taskComparator, Comparator<TaskInstance> taskInstanceComparator, ScheduleOptions options) {
+		return Scheduler.createSchedule(tasks, taskComparator, taskInstanceComparator, options).isSucceeded();
+	}
+	
+	/**
+	 * Report the progress of the analysis, if there is a listener.
+	 * @param progressListener - Listener to report to, may be null
+	 * @param done - Searches done
+	 * @param searches - Number of searches
+	 */
+	private static void progress(ProgressListener progressListener, long done, long searches) {
+		if(progressListener != null) {
+			progressListener.progressChanged(done, searches);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import task.Task;
+
+/**
+ * Class holding the outcome of the sensitivity analysis of a set of tasks: how far the<br>
+ * computation time and the mandatory instances of each task, and of all tasks at once,<br>
+ * can grow before a mandatory deadline is missed. The values are feasible and the next ones<br>
+ * are not, but on more than one processor, or for m, a smaller value is not always feasible.
+ * @author Franklin Nelson
+ *
+ */
+public class SensitivityResult {
+	/**
+	 * Tasks in priority order
+	 */
+	private List<Task> tasks;
+	
+	/**
+	 * True if the tasks as given meet every mandatory deadline
+	 */
+	private boolean feasible;
+	
+	/**
+	 * Largest computation time and largest m of each task which keep the tasks feasible
+	 */
+	private long[] maxC;
+	private int[] maxM;
+	
+	/**
+	 * Largest factor every computation time, and every m, can be scaled by
+	 */
+	private double cScale, mScale;
+	
+	/**
+	 * Utilization and mandatory utilization of the tasks scaled by the critical factor of C
+	 */
+	private double breakdownUtilization, mandatoryBreakdownUtilization;
+	
+	/**
+	 * Number of schedules simulated
+	 */
+	private long evaluations;
+	
+	/**
+	 * Create the result of an analysis.
+	 * @param tasks - Tasks in priority order
+	 * @param feasible - True if the tasks as given meet every mandatory deadline
+	 * @param maxC - Largest computation time of each task, 0 if even 1 is not feasible
+	 * @param maxM - Largest m of each task, -1 if even 0 is not feasible
+	 * @param cScale - Critical scaling factor of every computation time, 0 if none is feasible
+	 * @param mScale - Critical scaling factor of every m, 0 if none is feasible
+	 * @param breakdownUtilization - Utilization of the tasks at the critical factor of C
+	 * @param mandatoryBreakdownUtilization - Mandatory utilization of the tasks at the critical factor of C
+	 * @param evaluations - Number of schedules simulated
+	 */
+	SensitivityResult(List<Task> tasks, boolean feasible, long[] maxC, int[] maxM, double cScale, double mScale, double breakdownUtilization, double mandatoryBreakdownUtilization, long evaluations) {
+		this.tasks = Collections.unmodifiableList(new ArrayList<Task>(tasks));
+		this.feasible = feasible;
+		this.maxC = maxC;
+		this.maxM = maxM;
+		this.cScale = cScale;
+		this.mScale = mScale;
+		this.breakdownUtilization = breakdownUtilization;
+		this.mandatoryBreakdownUtilization = mandatoryBreakdownUtilization;
+		this.evaluations = evaluations;
+	}
+	
+	/**
+	 * Get the tasks in priority order. Task indexes used in this result refer to this list.
+	 * @return List of tasks
+	 */
+	public List<Task> getTasks() {
+		return tasks;
+	}
+	
+	/**
+	 * Check if the tasks as given meet every mandatory deadline.
+	 * @return True if the tasks are feasible, false otherwise
+	 */
+	public boolean isFeasible() {
+		return feasible;
+	}
+	
+	/**
+	 * Get the largest computation time of a task which keeps the tasks feasible,<br>
+	 * when every other task is unchanged.
+	 * @param task - Index of the task
+	 * @return Largest computation time, at most the period, 0 if even 1 is not feasible
+	 */
+	public long getMaxC(int task) {
+		return maxC[task];
+	}
+	
+	/**
+	 * Get the largest number of mandatory instances of a task which keeps the tasks feasible,<br>
+	 * when every other task and k are unchanged.
+	 * @param task - Index of the task
+	 * @return Largest m, at most k, -1 if even 0 is not feasible
+	 */
+	public int getMaxM(int task) {
+		return maxM[task];
+	}
+	
+	/**
+	 * Get the critical scaling factor of the computation times, the largest factor every<br>
+	 * computation time can be multiplied by, rounded down, while the tasks stay feasible.
+	 * @return Critical scaling factor of C, 0 if no factor is feasible
+	 */
+	public double getCScale() {
+		return cScale;
+	}
+	
+	/**
+	 * Get the critical scaling factor of the mandatory instances, the largest factor every m<br>
+	 * can be multiplied by, rounded down and at most k, while the tasks stay feasible.
+	 * @return Critical scaling factor of m, 0 if no factor is feasible
+	 */
+	public double getMScale() {
+		return mScale;
+	}
+	
+	/**
+	 * Get the breakdown utilization, sum(C / P) of the tasks scaled by the critical factor of C.
+	 * @return Breakdown utilization
+	 */
+	public double getBreakdownUtilization() {
+		return breakdownUtilization;
+	}
+	
+	/**
+	 * Get the mandatory breakdown utilization, sum(m * C / (k * P)) of the tasks scaled by the<br>
+	 * critical factor of C.
+	 * @return Mandatory breakdown utilization
+	 */
+	public double getMandatoryBreakdownUtilization() {
+		return mandatoryBreakdownUtilization;
+	}
+	
+	/**
+	 * Get the number of schedules simulated by the analysis.
+	 * @return Number of evaluations
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+	
+	/**
+	 * Returns a table of the largest C and m of every task, with the utilization at the largest C,<br>
+	 * followed by the critical scaling factors and the breakdown utilization.
+	 */
+	public String toString() {
+		StringBuilder table = new StringBuilder();
+		double utilization = 0;
+		
+		for(Task task : tasks) {
+			utilization += (double)task.getC() / task.getP();
+		}
+		
+		table.append(String.format("%-12s %10s %10s %10s %10s %14s%n", "Task", "C", "Max C", "m/k", "Max m/k", "Breakdown U"));
+		
+		for(int i = 0; i < tasks.size(); i++) {
+			Task task = tasks.get(i);
+			
+			table.append(String.format("%-12s %10d %10s %10s %10s %14s%n", task.getName(), task.getC(), maxC[i] > 0 ? String.valueOf(maxC[i]) : "none",
+					task.getM() + "/" + task.getK(), maxM[i] >= 0 ? maxM[i] + "/" + task.getK() : "none",
+					maxC[i] > 0 ? String.format("%.4f", utilization + (double)(maxC[i] - task.getC()) / task.getP()) : "-"));
+		}
+		
+		table.append(String.format("Critical C scaling factor: %.3f (breakdown utilization %.4f, mandatory %.4f)%n", cScale, breakdownUtilization, mandatoryBreakdownUtilization));
+		table.append(String.format("Critical m scaling factor: %.3f%n", mScale));
+		table.append((feasible ? "Tasks are feasible" : "Tasks are not feasible") + ", " + evaluations + " schedules simulated");
+		
+		return table.toString();
+	}
+}
@@ -0,0 +1,56 @@
+package scheduler;
+
+/**
+ * Heap of slots ordered by the time of their next event, earliest first.
+ * @author Franklin Nelson
+ *
+ */
+public class TimeQueue extends IndexedHeap {
+	/**
+	 * Time of the next event of each slot
+	 */
+	private long[] times;
+	
+	/**
+	 * Create an empty time queue for the slots 0 to capacity - 1.
+	 * @param capacity - Number of slots
+	 */
+	public TimeQueue(int capacity) {
+		super(capacity);
+		this.times = new long[capacity];
+	}
+	
+	/**
+	 * Add a slot to the queue, or move it if it is already in the queue.
+	 * @param slot to add
+	 * @param time of the next event of the slot
+	 */
+	public void add(int slot, long time) {
+		times[slot] = time;
+		add(slot);
+	}
+	
+	/**
+	 * Get the time of the next event of a slot.
+	 * @param slot to check
+	 * @return Time of the next event of the slot
+	 */
+	public long getTime(int slot) {
+		return times[slot];
+	}
+	
+	/**
+	 * Get the time of the earliest event in the queue.
+	 * @return Time of the earliest event, Long.MAX_VALUE if the queue is empty
+	 */
+	public long peekTime() {
+		return isEmpty() ? Long.MAX_VALUE : times[peek()];
+	}
+	
+	/**
+	 * Orders the slots by event time, the earliest event goes first.
+	 */
+	protected boolean isBefore(int slot1, int slot2) {
+		return times[slot1] < times[slot2];
+	}
+}
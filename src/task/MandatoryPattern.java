@@ -0,0 +1,191 @@
+package task;
+
+/**
+ * Mandatory/optional pattern of the instances of an (m, k)-Firm task.<br>
+ * Instance a is mandatory if a = floor(ceil(a * m / k) * k / m). The pattern repeats<br>
+ * every k instances, so it is computed once with integer arithmetic and stored as a bitset.
+ * @author Franklin Nelson
+ *
+ */
+public class MandatoryPattern {
+	/**
+	 * Mandatory Deadlines
+	 */
+	private final int m;
+	
+	/**
+	 * Consecutive Instances
+	 */
+	private final int k;
+	
+	/**
+	 * Bit i is set if instance i of every k instances is mandatory
+	 */
+	private final long[] bits;
+	
+	/**
+	 * Create the pattern of a task which must complete m/k deadlines.
+	 * @param m - Mandatory Deadlines
+	 * @param k - Consecutive Instances
+	 */
+	public MandatoryPattern(int m, int k) {
+		this.m = m;
+		this.k = k;
+		this.bits = new long[(k + 63) >>> 6];
+		
+		for(int i = 0; i < k && m > 0; i++) {
+			long ceil = ((long)i * m + k - 1) / k;
+			
+			if(i == ceil * k / m) {
+				bits[i >>> 6] |= 1L << i;
+			}
+		}
+	}
+	
+	/**
+	 * Get the value 'm' of this pattern.
+	 * @return Number of mandatory deadlines per 'k' consecutive instances
+	 */
+	public int getM() {
+		return m;
+	}
+	
+	/**
+	 * Get the value 'k' of this pattern.
+	 * @return Number of 'k' consecutive instances
+	 */
+	public int getK() {
+		return k;
+	}
+	
+	/**
+	 * Check if an instance is mandatory.
+	 * @param a - Instance Number, including any modifier
+	 * @return True if mandatory, false if optional
+	 */
+	public boolean isMandatory(long a) {
+		int i = (int)(a % k);
+		return (bits[i >>> 6] & (1L << i)) != 0;
+	}
+	
+	/**
+	 * Find the first mandatory instance after an instance.
+	 * @param a - Instance Number, including any modifier
+	 * @return Instance number of the next mandatory instance, -1 if no instance is mandatory
+	 */
+	public long nextMandatory(long a) {
+		long next = a + 1;
+		int i = (int)(next % k);
+		
+		int found = nextSetBit(i);
+		if(found >= 0) {
+			return next + (found - i);
+		}
+		
+		// Wrap around to the start of the next k instances
+		found = nextSetBit(0);
+		return found < 0 ? -1 : next + (k - i) + found;
+	}
+	
+	/**
+	 * Find the first optional instance after an instance.
+	 * @param a - Instance Number, including any modifier
+	 * @return Instance number of the next optional instance, -1 if every instance is mandatory
+	 */
+	public long nextOptional(long a) {
+		long next = a + 1;
+		int i = (int)(next % k);
+		
+		int found = nextClearBit(i);
+		if(found >= 0) {
+			return next + (found - i);
+		}
+		
+		// Wrap around to the start of the next k instances
+		found = nextClearBit(0);
+		return found < 0 ? -1 : next + (k - i) + found;
+	}
+	
+	/**
+	 * Find the most mandatory instances in any n consecutive instances.
+	 * @param n - Number of consecutive instances
+	 * @return Largest number of mandatory instances in n consecutive instances
+	 */
+	public long maxMandatory(long n) {
+		int r = (int)(n % k);
+		int count = 0, max;
+		
+		for(int i = 0; i < r; i++) {
+			count += isMandatory(i) ? 1 : 0;
+		}
+		
+		// Slide the window of r instances over every start in the pattern
+		max = count;
+		for(int i = 1; i < k && max < r; i++) {
+			count += (isMandatory(i + r - 1) ? 1 : 0) - (isMandatory(i - 1) ? 1 : 0);
+			max = Math.max(max, count);
+		}
+		
+		return n / k * m + max;
+	}
+	
+	/**
+	 * Find the first set bit at or after a position.
+	 * @param from - First position to check
+	 * @return Position of the set bit, -1 if there is none
+	 */
+	private int nextSetBit(int from) {
+		int word = from >>> 6;
+		
+		if(word >= bits.length) {
+			return -1;
+		}
+		
+		for(long bitsLeft = bits[word] & (-1L << from); ; bitsLeft = bits[word]) {
+			if(bitsLeft != 0) {
+				return (word << 6) + Long.numberOfTrailingZeros(bitsLeft);
+			}
+			
+			if(++word == bits.length) {
+				return -1;
+			}
+		}
+	}
+	
+	/**
+	 * Find the first clear bit at or after a position, within the k bits of the pattern.
+	 * @param from - First position to check
+	 * @return Position of the clear bit, -1 if there is none
+	 */
+	private int nextClearBit(int from) {
+		if(from >= k) {
+			return -1;
+		}
+		
+		int word = from >>> 6;
+		
+		for(long bitsLeft = ~bits[word] & (-1L << from); ; bitsLeft = ~bits[word]) {
+			if(bitsLeft != 0) {
+				int found = (word << 6) + Long.numberOfTrailingZeros(bitsLeft);
+				return found < k ? found : -1;
+			}
+			
+			if(++word == bits.length) {
+				return -1;
+			}
+		}
+	}
+	
+	/**
+	 * Returns a string with one character per instance, 'M' for mandatory and 'O' for optional.
+	 */
+	public String toString() {
+		StringBuilder pattern = new StringBuilder(k);
+		
+		for(int i = 0; i < k; i++) {
+			pattern.append(isMandatory(i) ? 'M' : 'O');
+		}
+		
+		return pattern.toString();
+	}
+}
@@ -1,7 +1,10 @@
 package task;
 
+import java.math.BigInteger;
+
 /**
- * Class representing a periodic task.
+ * Class representing a periodic task.<br>
+ * Tasks cannot be changed once created, so the same task can be shared between schedules.
  * @author Franklin Nelson
  *
  */
@@ -9,52 +12,69 @@ public class Task {
 	/**
 	 * Name of Task
 	 */
-	private String name;
+	private final String name;
 	
 	/**
 	 * Computation Time
 	 */
-	private int c;
+	private final long c;
 	
 	/**
 	 * Period
 	 */
-	private int p;
+	private final long p;
 	
 	/**
 	 * Mandatory Deadlines
 	 */
-	private int m;
+	private final int m;
 	
 	/**
 	 * Consecutive Instances
 	 */
-	private int k;
+	private final int k;
+	
+	/**
+	 * Mandatory/optional pattern, found when first needed
+	 */
+	private MandatoryPattern pattern;
 	
 	/**
 	 * Create a new task which cannot miss any deadlines.
 	 * @param name - Task Name
 	 * @param c - Computation Time
 	 * @param p - Period
+	 * @throws IllegalArgumentException if the values are not valid
 	 */
-	public Task(String name, int c, int p) {
+	public Task(String name, long c, long p) {
 		this(name, c, p, 1, 1);
 	}
 	
 	/**
 	 * Create a new task which must complete m/k deadlines.
 	 * @param name - Task Name
-	 * @param c - Computation Time
+	 * @param c - Computation Time, between 1 and p
 	 * @param p - Period
-	 * @param m - Mandatory Deadlines
-	 * @param k - Consecutive Instances
-	 */
-	public Task(String name, int c, int p, int m, int k) {
-		setName(name);
-		setP(p);
-		setC(c);
-		setK(k);
-		setM(m);
+	 * @param m - Mandatory Deadlines, between 0 and k
+	 * @param k - Consecutive Instances, at least 1
+	 * @throws IllegalArgumentException if the values are not valid
+	 */
+	public Task(String name, long c, long p, int m, int k) {
+		if(name == null) {
+			throw new IllegalArgumentException("Task name is missing");
+		}
+		else if(c < 1 || c > p) {
+			throw new IllegalArgumentException("Task " + name + " must satisfy 1 <= c <= p");
+		}
+		else if(k < 1 || m < 0 || m > k) {
+			throw new IllegalArgumentException("Task " + name + " must satisfy 0 <= m <= k and k >= 1");
+		}
+		
+		this.name = name;
+		this.c = c;
+		this.p = p;
+		this.m = m;
+		this.k = k;
 	}
 	
 	/**
@@ -65,64 +85,22 @@ public class Task {
 		return name;
 	}
 	
-	/**
-	 * Set the name of this task.
-	 * @param name to use for this task
-	 */
-	public void setName(String name) {
-		this.name = name;
-	}
-	
 	/**
 	 * Get the computation time of this task.
 	 * @return Computation time of task
 	 */
-	public int getC() {
+	public long getC() {
 		return c;
 	}
 	
-	/**
-	 * Set the computation time of this task. The value must be<br>
-	 * less than or equal to the period of the task.
-	 * @param c value of new computation time
-	 */
-	public void setC(int c) {
-		try {
-			if(c > p) throw new IllegalArgumentException("c > p, changing value of p to " + c);
-		}
-		catch(IllegalArgumentException e) {
-			e.printStackTrace();
-			this.p = c;
-		}
-		
-		this.c = c;
-	}
-	
 	/**
 	 * Get the period of this task
 	 * @return Period of task
 	 */
-	public int getP() {
+	public long getP() {
 		return p;
 	}
 	
-	/**
-	 * Set the period of this task. The value must be<br>
-	 * greater than or equal to the computation time of the task.
-	 * @param p value of new period
-	 */
-	public void setP(int p) {
-		try {
-			if(p < c) throw new IllegalArgumentException("p < c, changing value of c to " + p);
-		}
-		catch(IllegalArgumentException e) {
-			e.printStackTrace();
-			this.c = p;
-		}
-		
-		this.p = p;
-	}
-	
 	/**
 	 * Get the value 'm' of this task.
 	 * @return Number of mandatory deadlines per 'k' consecutive instances
@@ -132,45 +110,69 @@ public class Task {
 	}
 	
 	/**
-	 * Set the value 'm' of this task. The value must be<br>
-	 * less than or equal to the value 'k' of the task.
-	 * @param m value of new 'm'
+	 * Get the value 'k' of this task.
+	 * @return Number of 'k' consecutive instances
 	 */
-	public void setM(int m) {
-		try {
-			if(m > k) throw new IllegalArgumentException("m > k, changing value of k to " + m);
-		}
-		catch(IllegalArgumentException e) {
-			e.printStackTrace();
-			this.k = m;
+	public int getK() {
+		return k;
+	}
+	
+	/**
+	 * Get the mandatory/optional pattern of the instances of this task. The pattern of<br>
+	 * m/k is the same as the pattern of m/k divided by gcd(m, k), so the smaller one is used.
+	 * @return Pattern of mandatory instances
+	 */
+	public MandatoryPattern getPattern() {
+		MandatoryPattern pattern = this.pattern;
+		
+		// The pattern only has final fields, so it is safe to share between threads without locking
+		if(pattern == null) {
+			int gcd = gcd();
+			pattern = new MandatoryPattern(m / gcd, k / gcd);
+			this.pattern = pattern;
 		}
 		
-		this.m = m;
+		return pattern;
 	}
 	
 	/**
-	 * Get the value 'k' of this task.
-	 * @return Number of 'k' consecutive instances
+	 * Get this task with m and k divided by their greatest common divisor.
+	 * @return Normalized task, this task if it is already normalized
 	 */
-	public int getK() {
-		return k;
+	public Task normalize() {
+		int gcd = gcd();
+		return gcd == 1 ? this : new Task(name, c, p, m / gcd, k / gcd);
 	}
 	
 	/**
-	 * Set the value 'k' of this task. The value must be<br>
-	 * greater than or equal to the value 'm' of the task.
-	 * @param k value of new 'k'
+	 * Find the greatest common divisor of m and k.
+	 * @return GCD of m and k
 	 */
-	public void setK(int k) {
-		try {
-			if(k < m) throw new IllegalArgumentException("k < m, changing value of m to " + k);
-		}
-		catch(IllegalArgumentException e) {
-			e.printStackTrace();
-			this.m = k;
+	private int gcd() {
+		return BigInteger.valueOf(m).gcd(BigInteger.valueOf(k)).intValue();
+	}
+	
+	/**
+	 * Checks if another object is a task with the same name and values.
+	 */
+	public boolean equals(Object object) {
+		if(!(object instanceof Task)) {
+			return false;
 		}
 		
-		this.k = k;
+		Task task = (Task)object;
+		return name.equals(task.name) && c == task.c && p == task.p && m == task.m && k == task.k;
+	}
+	
+	/**
+	 * Returns a hash code of the name and values of this task.
+	 */
+	public int hashCode() {
+		int hash = name.hashCode();
+		hash = 31 * hash + (int)(c ^ (c >>> 32));
+		hash = 31 * hash + (int)(p ^ (p >>> 32));
+		hash = 31 * hash + m;
+		return 31 * hash + k;
 	}
 	
 	/**
@@ -12,6 +12,6 @@ public class TaskComparator implements Comparator<Task> {
 	 * Orders the tasks using RMS, the task with lowest period goes first.
 	 */
 	public int compare(Task task1, Task task2) {
-		return task1.getP() - task2.getP();
+		return task1.getP() < task2.getP() ? -1 : task1.getP() > task2.getP() ? 1 : 0;
 	}
 }
\ No newline at end of file
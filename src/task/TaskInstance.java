@@ -14,7 +14,7 @@ public class TaskInstance {
 	/**
 	 * Instance Number
 	 */
-	private int a;
+	private long a;
 	
 	/**
 	 * Instance Number modifier (for cases where 2 tasks are both optional in schedule)
@@ -29,17 +29,17 @@ public class TaskInstance {
 	/**
 	 * Deadline
 	 */
-	private int d;
+	private long d;
 	
 	/**
 	 * Remaining Computation Time
 	 */
-	private int t;
+	private long t;
 	
 	/**
 	 * Ready Time
 	 */
-	private int r;
+	private long r;
 	
 	/**
 	 * True - Mandatory<br>
@@ -54,7 +54,7 @@ public class TaskInstance {
 	 * @param p - Priority
 	 * @param r - Ready Time
 	 */
-	public TaskInstance(Task parent, int a, int p, int r) {
+	public TaskInstance(Task parent, long a, int p, long r) {
 		this(parent, a, p, p, r);
 	}
 	
@@ -66,7 +66,7 @@ public class TaskInstance {
 	 * @param po - Optional Priority
 	 * @param r - Ready Time
 	 */
-	public TaskInstance(Task parent, int a, int pm, int po, int r) {
+	public TaskInstance(Task parent, long a, int pm, int po, long r) {
 		this(parent, a, 0, pm, po, r);
 	}
 	
@@ -79,7 +79,7 @@ public class TaskInstance {
 	 * @param po - Optional Priority
 	 * @param r - Ready Time
 	 */
-	public TaskInstance(Task parent, int a, int a2, int pm, int po, int r) {
+	public TaskInstance(Task parent, long a, int a2, int pm, int po, long r) {
 		this.parent = parent;
 		this.a = a;
 		this.a2 = a2;
@@ -113,7 +113,7 @@ public class TaskInstance {
 	 * Get the instance number of this task instance.
 	 * @return Value of instance number
 	 */
-	public int getA() {
+	public long getA() {
 		return a;
 	}
 	
@@ -121,7 +121,7 @@ public class TaskInstance {
 	 * Set the instance number of this task instance.
 	 * @param a value of new instance number
 	 */
-	public void setA(int a) {
+	public void setA(long a) {
 		this.a = a;
 		this.setMandatory();
 		this.d = parent.getP() * (a + 1);
@@ -172,7 +172,7 @@ public class TaskInstance {
 	 * Get the deadline of this task instance.
 	 * @return Value of deadline
 	 */
-	public int getD() {
+	public long getD() {
 		return d;
 	}
 	
@@ -180,7 +180,7 @@ public class TaskInstance {
 	 * Set the deadline of this task instance.
 	 * @param d value of new deadline
 	 */
-	public void setD(int d) {
+	public void setD(long d) {
 		this.d = d;
 	}
 	
@@ -188,7 +188,7 @@ public class TaskInstance {
 	 * Get the remaining computation time of this task instance.
 	 * @return Value of remaining computation time
 	 */
-	public int getT() {
+	public long getT() {
 		return t;
 	}
 	
@@ -196,7 +196,7 @@ public class TaskInstance {
 	 * Set the remaining computation time of this task instance.
 	 * @param t value of new remaining computation time
 	 */
-	public void setT(int t) {
+	public void setT(long t) {
 		this.t = t;
 	}
 	
@@ -204,7 +204,7 @@ public class TaskInstance {
 	 * Get the ready time of this task instance.
 	 * @return Value of ready time
 	 */
-	public int getR() {
+	public long getR() {
 		return r;
 	}
 	
@@ -212,7 +212,7 @@ public class TaskInstance {
 	 * Set the ready time of this task instance.
 	 * @param r value of new ready time
 	 */
-	public void setR(int r) {
+	public void setR(long r) {
 		this.r = r;
 	}
 	
@@ -228,7 +228,7 @@ public class TaskInstance {
 	 * Check if this instance of the task is mandatory, then set the 'isMandatory' variable to the result.
 	 */
 	private void setMandatory() {
-		this.isMandatory = (a + a2) == (int)Math.floor(Math.ceil((double)((a + a2) * parent.getM()) / parent.getK()) * ((double)parent.getK() / parent.getM()));
+		this.isMandatory = parent.getPattern().isMandatory(a + a2);
 	}
 	
 	/**
@@ -237,7 +237,7 @@ public class TaskInstance {
 	 * @param end time
 	 * @return True if task finishes before deadline, false otherwise
 	 */
-	public boolean doComputation(int start, int end) {
+	public boolean doComputation(long start, long end) {
 		if(end < start || end > d+1 || start > d) {
 			return false;
 		}
@@ -254,7 +254,7 @@ public class TaskInstance {
 	 * @param curTime of schedule
 	 * @return True if time is past deadline, false otherwise
 	 */
-	public boolean isPastDeadline(int curTime) {
+	public boolean isPastDeadline(long curTime) {
 		return curTime >= d;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package trace;
+
+/**
+ * Layout of a schedule trace file.<br>
+ * The file starts with a header of the magic number (int), the version (int), the number<br>
+ * of records (long), the number of processors (int) and padding (int). Each record then has the same size, so record i can be found without<br>
+ * reading the ones before it: type (byte), status (byte), padding (short), task (int),<br>
+ * instance number (long), start time (long) and end time (long). Releases, completions<br>
+ * and misses have the same start and end time, and records are written in order of end time.
+ * @author Franklin Nelson
+ *
+ */
+final class TraceFormat {
+	/**
+	 * Magic number of a trace file, 'MKTR'
+	 */
+	static final int MAGIC = 0x4D4B5452;
+	
+	/**
+	 * Version of the layout
+	 */
+	static final int VERSION = 2;
+	
+	/**
+	 * Size of the header in bytes
+	 */
+	static final int HEADER_SIZE = 24;
+	
+	/**
+	 * Size of each record in bytes
+	 */
+	static final int RECORD_SIZE = 32;
+	
+	/**
+	 * Position of the number of records in the header
+	 */
+	static final int COUNT_POSITION = 8;
+	
+	/**
+	 * Position of the number of processors in the header
+	 */
+	static final int PROCESSORS_POSITION = 16;
+	
+	/**
+	 * Position of the end time in a record
+	 */
+	static final int END_POSITION = 24;
+	
+	/**
+	 * Record types
+	 */
+	static final byte RELEASE = 0, EXECUTION = 1, COMPLETION = 2, DEADLINE_MISS = 3;
+	
+	/**
+	 * Number of records mapped into memory at a time, 32 MB
+	 */
+	static final int REGION_RECORDS = 1 << 20;
+	
+	/**
+	 * Only holds constants.
+	 */
+	private TraceFormat() {
+	}
+}
@@ -0,0 +1,220 @@
+package trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import scheduler.ScheduleListener;
+
+/**
+ * Reads a trace file written by a TraceWriter. The file is mapped into memory one region at a<br>
+ * time, and a range of time is found by binary search, so any part of a trace can be replayed<br>
+ * without reading the whole file.
+ * @author Franklin Nelson
+ *
+ */
+public class TraceReader {
+	/**
+	 * Trace file
+	 */
+	private RandomAccessFile file;
+	
+	/**
+	 * Channel of the trace file
+	 */
+	private FileChannel channel;
+	
+	/**
+	 * Number of records in the trace
+	 */
+	private long count;
+	
+	/**
+	 * Number of processors of the schedule
+	 */
+	private int processors;
+	
+	/**
+	 * Mapped region of records
+	 */
+	private MappedByteBuffer region = null;
+	
+	/**
+	 * Index of the first record in the mapped region
+	 */
+	private long regionFirst = 0;
+	
+	/**
+	 * Number of records in the mapped region
+	 */
+	private long regionCount = 0;
+	
+	/**
+	 * Open a trace file.
+	 * @param file - Path of the trace file
+	 * @throws IOException if the file cannot be read or is not a trace
+	 */
+	public TraceReader(File file) throws IOException {
+		this.file = new RandomAccessFile(file, "r");
+		this.channel = this.file.getChannel();
+		
+		try {
+			ByteBuffer header = ByteBuffer.allocate(TraceFormat.HEADER_SIZE);
+			while(header.hasRemaining()) {
+				if(channel.read(header, header.position()) < 0) {
+					throw new IOException("Not a trace file: " + file);
+				}
+			}
+			header.flip();
+			
+			if(header.getInt() != TraceFormat.MAGIC) {
+				throw new IOException("Not a trace file: " + file);
+			}
+			
+			int version = header.getInt();
+			if(version != TraceFormat.VERSION) {
+				throw new IOException("Unsupported trace version " + version + ": " + file);
+			}
+			
+			count = header.getLong();
+			if(count < 0 || TraceFormat.HEADER_SIZE + count * TraceFormat.RECORD_SIZE > channel.size()) {
+				throw new IOException("Truncated trace file: " + file);
+			}
+			
+			processors = header.getInt();
+			if(processors < 1) {
+				throw new IOException("Not a trace file: " + file);
+			}
+		}
+		catch(IOException e) {
+			this.file.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Get the number of records in the trace.
+	 * @return Number of records
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * Get the number of processors of the schedule.
+	 * @return Number of processors
+	 */
+	public int getProcessors() {
+		return processors;
+	}
+	
+	/**
+	 * Get the mapped region positioned at a record.
+	 * @param index - Index of the record
+	 * @return Region positioned at the record
+	 * @throws IOException if the region cannot be mapped
+	 */
+	private MappedByteBuffer record(long index) throws IOException {
+		if(region == null || index < regionFirst || index >= regionFirst + regionCount) {
+			regionFirst = index;
+			regionCount = Math.min(TraceFormat.REGION_RECORDS, count - index);
+			region = channel.map(FileChannel.MapMode.READ_ONLY, TraceFormat.HEADER_SIZE + index * TraceFormat.RECORD_SIZE, regionCount * TraceFormat.RECORD_SIZE);
+		}
+		
+		region.position((int)((index - regionFirst) * TraceFormat.RECORD_SIZE));
+		return region;
+	}
+	
+	/**
+	 * Find the first record at or after a time.
+	 * @param time - Time to find
+	 * @return Index of the first record whose end time is at least the time, the number of records if none
+	 * @throws IOException if the trace cannot be read
+	 */
+	public long find(long time) throws IOException {
+		long low = 0, high = count;
+		
+		while(low < high) {
+			long mid = (low + high) >>> 1;
+			MappedByteBuffer r = record(mid);
+			
+			if(r.getLong(r.position() + TraceFormat.END_POSITION) < time) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		
+		return low;
+	}
+	
+	/**
+	 * Replay the records between two times to a listener. Releases, completions and misses are<br>
+	 * replayed if they happen in [from, to), and executions if they overlap it.
+	 * @param from - Start of the range
+	 * @param to - End of the range
+	 * @param listener - Listener to replay the records to
+	 * @throws IOException if the trace cannot be read
+	 */
+	public void read(long from, long to, ScheduleListener listener) throws IOException {
+		// Executions seen which are still running at the end of the range
+		int running = 0;
+		
+		for(long i = find(from); i < count; i++) {
+			MappedByteBuffer r = record(i);
+			
+			byte type = r.get();
+			boolean isMandatory = r.get() != 0;
+			r.getShort();
+			int task = r.getInt();
+			long a = r.getLong();
+			long start = r.getLong();
+			long end = r.getLong();
+			
+			switch(type) {
+			case TraceFormat.RELEASE:
+				if(start < to) {
+					listener.taskReleased(task, a, start, isMandatory);
+				}
+				break;
+			case TraceFormat.EXECUTION:
+				if(start < to && end > from) {
+					listener.taskExecuted(task, start, end, isMandatory);
+				}
+				break;
+			case TraceFormat.COMPLETION:
+				if(start < to) {
+					listener.taskCompleted(task, a, start, isMandatory);
+				}
+				break;
+			case TraceFormat.DEADLINE_MISS:
+				if(start < to) {
+					listener.deadlineMissed(task, a, start, isMandatory);
+				}
+				break;
+			default:
+				throw new IOException("Unknown record type " + type + " at record " + i);
+			}
+			
+			// Records are ordered by end time, so an execution ending at or after the end of the range is written
+			// after the events during it. On one processor every later execution starts after it. On more, a later
+			// execution overlapping the range runs at the end of it, which only one execution per processor can do
+			if(type == TraceFormat.EXECUTION && end >= to && (processors == 1 || start < to && ++running == processors)) {
+				break;
+			}
+		}
+	}
+	
+	/**
+	 * Close the trace.
+	 * @throws IOException if the file cannot be closed
+	 */
+	public void close() throws IOException {
+		region = null;
+		file.close();
+	}
+}
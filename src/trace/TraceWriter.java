@@ -0,0 +1,174 @@
+package trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import scheduler.ScheduleListener;
+
+/**
+ * Streams the events of a schedule to a binary trace file. Set it as the listener of the<br>
+ * schedule options, and close it once the schedule is created. Records are appended to a<br>
+ * region of the file mapped into memory, and the next region is mapped when it is full,<br>
+ * so traces can be far larger than the memory of the JVM. A schedule on more than one processor<br>
+ * needs a writer created with its number of processors, so ranges of the trace can be read.
+ * @author Franklin Nelson
+ *
+ */
+public class TraceWriter implements ScheduleListener {
+	/**
+	 * Trace file
+	 */
+	private RandomAccessFile file;
+	
+	/**
+	 * Channel of the trace file
+	 */
+	private FileChannel channel;
+	
+	/**
+	 * Mapped region the next record is written to
+	 */
+	private MappedByteBuffer region = null;
+	
+	/**
+	 * Number of records written
+	 */
+	private long count = 0;
+	
+	/**
+	 * Number of processors of the schedule
+	 */
+	private int processors;
+	
+	/**
+	 * First error while writing, thrown when the trace is closed
+	 */
+	private IOException error = null;
+	
+	/**
+	 * Create a trace file of a schedule on one processor, replacing any file with the same name.
+	 * @param file - Path of the trace file
+	 * @throws IOException if the file cannot be created
+	 */
+	public TraceWriter(File file) throws IOException {
+		this(file, 1);
+	}
+	
+	/**
+	 * Create a trace file, replacing any file with the same name.
+	 * @param file - Path of the trace file
+	 * @param processors - Number of processors of the schedule, at least 1
+	 * @throws IOException if the file cannot be created
+	 * @throws IllegalArgumentException if there are no processors
+	 */
+	public TraceWriter(File file, int processors) throws IOException {
+		if(processors < 1) {
+			throw new IllegalArgumentException("processors must be at least 1");
+		}
+		
+		this.processors = processors;
+		this.file = new RandomAccessFile(file, "rw");
+		this.file.setLength(0);
+		this.channel = this.file.getChannel();
+		
+		writeHeader();
+	}
+	
+	public void taskReleased(int task, long a, long time, boolean isMandatory) {
+		write(TraceFormat.RELEASE, task, a, time, time, isMandatory);
+	}
+	
+	public void taskExecuted(int task, long start, long end, boolean isMandatory) {
+		write(TraceFormat.EXECUTION, task, -1, start, end, isMandatory);
+	}
+	
+	public void taskCompleted(int task, long a, long time, boolean isMandatory) {
+		write(TraceFormat.COMPLETION, task, a, time, time, isMandatory);
+	}
+	
+	public void deadlineMissed(int task, long a, long time, boolean isMandatory) {
+		write(TraceFormat.DEADLINE_MISS, task, a, time, time, isMandatory);
+	}
+	
+	/**
+	 * Append a record to the trace.
+	 * @param type - Type of record
+	 * @param task - Index of the task in the schedule
+	 * @param a - Instance Number, -1 if unknown
+	 * @param start - Start time
+	 * @param end - End time
+	 * @param isMandatory - True if the task instance is mandatory
+	 */
+	private void write(byte type, int task, long a, long start, long end, boolean isMandatory) {
+		if(error != null) {
+			return;
+		}
+		
+		try {
+			if(region == null || !region.hasRemaining()) {
+				region = channel.map(FileChannel.MapMode.READ_WRITE, TraceFormat.HEADER_SIZE + count * TraceFormat.RECORD_SIZE, (long)TraceFormat.REGION_RECORDS * TraceFormat.RECORD_SIZE);
+			}
+			
+			region.put(type).put((byte)(isMandatory ? 1 : 0)).putShort((short)0).putInt(task).putLong(a).putLong(start).putLong(end);
+			count++;
+		}
+		catch(IOException e) {
+			error = e;
+		}
+	}
+	
+	/**
+	 * Write the header with the number of records written so far and the number of processors.
+	 * @throws IOException if the header cannot be written
+	 */
+	private void writeHeader() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(TraceFormat.HEADER_SIZE);
+		header.putInt(TraceFormat.MAGIC).putInt(TraceFormat.VERSION).putLong(count).putInt(processors).putInt(0).flip();
+		
+		while(header.hasRemaining()) {
+			channel.write(header, header.position());
+		}
+	}
+	
+	/**
+	 * Get the number of records written.
+	 * @return Number of records
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * Write the number of records and close the trace.
+	 * @throws IOException if any record or the header could not be written
+	 */
+	public void close() throws IOException {
+		try {
+			if(error != null) {
+				throw error;
+			}
+			
+			if(region != null) {
+				region.force();
+				region = null;
+			}
+			
+			writeHeader();
+			
+			// The unused end of the last region is removed, the platform may refuse while it is still mapped
+			try {
+				channel.truncate(TraceFormat.HEADER_SIZE + count * TraceFormat.RECORD_SIZE);
+			}
+			catch(IOException e) {
+				// The header holds the number of records, so the reader ignores the unused end
+			}
+		}
+		finally {
+			file.close();
+		}
+	}
+}
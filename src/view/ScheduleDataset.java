@@ -0,0 +1,409 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jfree.data.UnknownKeyException;
+import org.jfree.data.gantt.GanttCategoryDataset;
+import org.jfree.data.general.AbstractDataset;
+
+import scheduler.ScheduleResult;
+
+/**
+ * Gantt chart dataset read straight from the execution segments of a schedule.<br>
+ * There is one column per task, and the segments of each task are its sub-intervals.<br>
+ * On more than one processor, there can be one column per processor instead.<br>
+ * The segments stay in the primitive arrays of the result, only an index of the<br>
+ * segments of each task is kept, and values are created when the chart asks for them.<br>
+ * Only the segments in the shown part of the schedule are sub-intervals, and segments<br>
+ * closer together than one pixel are merged into one bar, so long schedules stay fast to draw.
+ * @author Franklin Nelson
+ *
+ */
+// GanttCategoryDataset declares its keys as the raw Comparable and List types, so the overrides must use them too
+@SuppressWarnings("rawtypes")
+public class ScheduleDataset extends AbstractDataset implements GanttCategoryDataset {
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * Key of the only row
+	 */
+	private static final String ROW_KEY = "";
+	
+	/**
+	 * Width in pixels used until the chart sets the shown part
+	 */
+	private static final int DEFAULT_WIDTH = 750;
+	
+	/**
+	 * Result of the schedule
+	 */
+	private ScheduleResult result;
+	
+	/**
+	 * Name of each task or processor, used as the column keys
+	 */
+	private List<String> names;
+	
+	/**
+	 * True if there is one column per processor, false if there is one per task
+	 */
+	private boolean byCore;
+	
+	/**
+	 * Segments of column i are segments[first[i]] to segments[first[i + 1] - 1], in time order
+	 */
+	private int[] first, segments;
+	
+	/**
+	 * Shown part of the schedule, and the time of one pixel
+	 */
+	private long viewStart = -1, viewEnd = -1, viewResolution = -1;
+	
+	/**
+	 * Bars of column i are bars barFirst[i] to barFirst[i + 1] - 1
+	 */
+	private int[] barFirst;
+	
+	/**
+	 * Start time, end time and share of mandatory time of each bar
+	 */
+	private long[] barStart = new long[16], barEnd = new long[16];
+	private double[] barMandatory = new double[16];
+	
+	/**
+	 * Create the dataset of a schedule.
+	 * @param result of the schedule
+	 */
+	public ScheduleDataset(ScheduleResult result) {
+		this(result, false);
+	}
+	
+	/**
+	 * Create the dataset of a schedule, with one column per task or per processor.
+	 * @param result of the schedule
+	 * @param byCore - True for one column per processor, false for one per task
+	 */
+	public ScheduleDataset(ScheduleResult result, boolean byCore) {
+		this.result = result;
+		this.byCore = byCore;
+		
+		int columnCount = byCore ? result.getProcessors() : result.getTasks().size();
+		List<String> names = new ArrayList<String>(columnCount);
+		
+		for(int i = 0; i < columnCount; i++) {
+			names.add(byCore ? "Core " + i : result.getTasks().get(i).getName());
+		}
+		
+		this.names = Collections.unmodifiableList(names);
+		this.first = new int[columnCount + 1];
+		this.segments = new int[result.getSegmentCount()];
+		
+		// Count the segments of each column, then place each segment after the ones before it
+		for(int i = 0; i < segments.length; i++) {
+			first[columnOf(i) + 1]++;
+		}
+		
+		for(int i = 0; i < columnCount; i++) {
+			first[i + 1] += first[i];
+		}
+		
+		int[] next = first.clone();
+		for(int i = 0; i < segments.length; i++) {
+			segments[next[columnOf(i)]++] = i;
+		}
+		
+		this.barFirst = new int[columnCount + 1];
+		setView(0, result.getLength(), DEFAULT_WIDTH);
+	}
+	
+	/**
+	 * Get the column of a segment, its task or its processor.
+	 * @param segment - Index of the segment
+	 * @return Index of the column
+	 */
+	private int columnOf(int segment) {
+		return byCore ? result.getSegmentCore(segment) : result.getSegmentTask(segment);
+	}
+	
+	/**
+	 * Set the part of the schedule which is shown, and find the bars to draw in it.<br>
+	 * Segments less than one pixel apart are merged, unless a pixel is less than one time unit.
+	 * @param start - Start time of the shown part
+	 * @param end - End time of the shown part
+	 * @param width - Width of the shown part in pixels
+	 */
+	public void setView(long start, long end, int width) {
+		long resolution = Math.max(0, (end - start) / Math.max(1, width));
+		
+		if(start == viewStart && end == viewEnd && resolution == viewResolution) {
+			return;
+		}
+		
+		viewStart = start;
+		viewEnd = end;
+		viewResolution = resolution;
+		
+		int bars = 0;
+		
+		for(int column = 0; column < barFirst.length - 1; column++) {
+			barFirst[column] = bars;
+			
+			for(int i = firstShown(column, start); i < first[column + 1]; i++) {
+				int segment = segments[i];
+				long segmentStart = result.getSegmentStart(segment), segmentEnd = result.getSegmentEnd(segment);
+				double mandatory = result.isSegmentMandatory(segment) ? 1.0 : 0.0;
+				
+				if(segmentStart >= end) {
+					break;
+				}
+				
+				// Merge with the last bar if the gap between them cannot be seen
+				if(bars > barFirst[column] && resolution > 1 && segmentStart - barEnd[bars - 1] < resolution) {
+					long length = barEnd[bars - 1] - barStart[bars - 1], segmentLength = segmentEnd - segmentStart;
+					
+					if(length + segmentLength > 0) {
+						barMandatory[bars - 1] = (barMandatory[bars - 1] * length + mandatory * segmentLength) / (length + segmentLength);
+					}
+					
+					barEnd[bars - 1] = segmentEnd;
+					continue;
+				}
+				
+				if(bars == barStart.length) {
+					barStart = Arrays.copyOf(barStart, 2 * bars);
+					barEnd = Arrays.copyOf(barEnd, 2 * bars);
+					barMandatory = Arrays.copyOf(barMandatory, 2 * bars);
+				}
+				
+				barStart[bars] = segmentStart;
+				barEnd[bars] = segmentEnd;
+				barMandatory[bars++] = mandatory;
+			}
+		}
+		
+		barFirst[barFirst.length - 1] = bars;
+		fireDatasetChanged();
+	}
+	
+	/**
+	 * Find the first segment of a task which ends after a time.
+	 * @param column - Index of the task
+	 * @param time - Time the segment must end after
+	 * @return Position of the segment in the index of the task
+	 */
+	private int firstShown(int column, long time) {
+		int low = first[column], high = first[column + 1];
+		
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			
+			if(result.getSegmentEnd(segments[middle]) > time) {
+				high = middle;
+			}
+			else {
+				low = middle + 1;
+			}
+		}
+		
+		return low;
+	}
+	
+	/**
+	 * Get the index of a bar of a task.
+	 * @param column - Index of the task
+	 * @param subinterval - Index of the bar in the task
+	 * @return Index of the bar
+	 */
+	private int bar(int column, int subinterval) {
+		return barFirst[column] + subinterval;
+	}
+	
+	/**
+	 * Returns 1, every task is in the same row.
+	 */
+	public int getRowCount() {
+		return 1;
+	}
+	
+	/**
+	 * Returns the number of tasks.
+	 */
+	public int getColumnCount() {
+		return names.size();
+	}
+	
+	/**
+	 * Returns the key of the only row.
+	 */
+	public Comparable getRowKey(int row) {
+		return ROW_KEY;
+	}
+	
+	/**
+	 * Returns 0 for the key of the only row, -1 otherwise.
+	 */
+	public int getRowIndex(Comparable key) {
+		return ROW_KEY.equals(key) ? 0 : -1;
+	}
+	
+	/**
+	 * Returns a list with the key of the only row.
+	 */
+	public List getRowKeys() {
+		return Collections.singletonList(ROW_KEY);
+	}
+	
+	/**
+	 * Returns the name of a task.
+	 */
+	public Comparable getColumnKey(int column) {
+		return names.get(column);
+	}
+	
+	/**
+	 * Returns the index of a task name, -1 if there is no such task.
+	 */
+	public int getColumnIndex(Comparable key) {
+		return names.indexOf(key);
+	}
+	
+	/**
+	 * Returns the names of the tasks.
+	 */
+	public List getColumnKeys() {
+		return names;
+	}
+	
+	/**
+	 * Find the column of a task name.
+	 * @param rowKey - Key of the row
+	 * @param columnKey - Name of the task
+	 * @return Index of the task
+	 * @throws UnknownKeyException if there is no such row or task
+	 */
+	private int column(Comparable rowKey, Comparable columnKey) {
+		int column = names.indexOf(columnKey);
+		
+		if(column < 0 || !ROW_KEY.equals(rowKey)) {
+			throw new UnknownKeyException("Unknown key (" + rowKey + ", " + columnKey + ")");
+		}
+		
+		return column;
+	}
+	
+	/**
+	 * Returns the start of the whole schedule, as the value of a task.
+	 */
+	public Number getValue(int row, int column) {
+		return getStartValue(row, column);
+	}
+	
+	/**
+	 * Same as getValue with the index of the task name.
+	 */
+	public Number getValue(Comparable rowKey, Comparable columnKey) {
+		return getValue(0, column(rowKey, columnKey));
+	}
+	
+	/**
+	 * Returns the start of the whole schedule, every task spans it.
+	 */
+	public Number getStartValue(int row, int column) {
+		return Long.valueOf(0);
+	}
+	
+	/**
+	 * Same as getStartValue with the index of the task name.
+	 */
+	public Number getStartValue(Comparable rowKey, Comparable columnKey) {
+		return getStartValue(0, column(rowKey, columnKey));
+	}
+	
+	/**
+	 * Returns the end of the whole schedule, every task spans it.
+	 */
+	public Number getEndValue(int row, int column) {
+		return Long.valueOf(result.getLength());
+	}
+	
+	/**
+	 * Same as getEndValue with the index of the task name.
+	 */
+	public Number getEndValue(Comparable rowKey, Comparable columnKey) {
+		return getEndValue(0, column(rowKey, columnKey));
+	}
+	
+	/**
+	 * Returns null, the span of a task has no status.
+	 */
+	public Number getPercentComplete(int row, int column) {
+		return null;
+	}
+	
+	/**
+	 * Same as getPercentComplete with the index of the task name.
+	 */
+	public Number getPercentComplete(Comparable rowKey, Comparable columnKey) {
+		return getPercentComplete(0, column(rowKey, columnKey));
+	}
+	
+	/**
+	 * Returns the number of bars of the task in the shown part.
+	 */
+	public int getSubIntervalCount(int row, int column) {
+		return barFirst[column + 1] - barFirst[column];
+	}
+	
+	/**
+	 * Same as getSubIntervalCount with the index of the task name.
+	 */
+	public int getSubIntervalCount(Comparable rowKey, Comparable columnKey) {
+		return getSubIntervalCount(0, column(rowKey, columnKey));
+	}
+	
+	/**
+	 * Returns the start time of a bar of the task.
+	 */
+	public Number getStartValue(int row, int column, int subinterval) {
+		return Long.valueOf(barStart[bar(column, subinterval)]);
+	}
+	
+	/**
+	 * Same as getStartValue with the index of the task name.
+	 */
+	public Number getStartValue(Comparable rowKey, Comparable columnKey, int subinterval) {
+		return getStartValue(0, column(rowKey, columnKey), subinterval);
+	}
+	
+	/**
+	 * Returns the end time of a bar of the task.
+	 */
+	public Number getEndValue(int row, int column, int subinterval) {
+		return Long.valueOf(barEnd[bar(column, subinterval)]);
+	}
+	
+	/**
+	 * Same as getEndValue with the index of the task name.
+	 */
+	public Number getEndValue(Comparable rowKey, Comparable columnKey, int subinterval) {
+		return getEndValue(0, column(rowKey, columnKey), subinterval);
+	}
+	
+	/**
+	 * Returns the share of the bar where mandatory instances executed, drawn as complete.<br>
+	 * A bar of one segment is 1.0 if the instance was mandatory and 0.0 if optional.
+	 */
+	public Number getPercentComplete(int row, int column, int subinterval) {
+		return Double.valueOf(barMandatory[bar(column, subinterval)]);
+	}
+	
+	/**
+	 * Same as getPercentComplete with the index of the task name.
+	 */
+	public Number getPercentComplete(Comparable rowKey, Comparable columnKey, int subinterval) {
+		return getPercentComplete(0, column(rowKey, columnKey), subinterval);
+	}
+}
@@ -3,21 +3,23 @@ package view;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.text.SimpleDateFormat;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.DefaultListModel;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JFormattedTextField;
 import javax.swing.JFrame;
 import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
 import javax.swing.JTabbedPane;
@@ -25,6 +27,7 @@ import javax.swing.JTextArea;
 import javax.swing.ListModel;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
+import javax.swing.UIManager;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
@@ -34,12 +37,26 @@ import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.LegendItem;
 import org.jfree.chart.LegendItemCollection;
-import org.jfree.chart.axis.DateAxis;
-import org.jfree.chart.axis.DateTickUnit;
-import org.jfree.chart.axis.DateTickUnitType;
+import org.jfree.chart.axis.CategoryAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.event.AxisChangeEvent;
+import org.jfree.chart.event.AxisChangeListener;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.CombinedRangeCategoryPlot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.renderer.category.GanttRenderer;
 import org.jfree.data.category.IntervalCategoryDataset;
 
 import controller.SchedulerController;
+import scheduler.BinPacking;
+import scheduler.ComparisonResult;
+import scheduler.ConstraintViolation;
+import scheduler.DeadlineMiss;
+import scheduler.Policy;
+import scheduler.ScheduleMetrics;
+import scheduler.ScheduleResult;
+import scheduler.SensitivityResult;
+import task.Task;
 
 /**
  * Class for the GUI.
@@ -49,20 +66,27 @@ import controller.SchedulerController;
 public class View extends JFrame {
 	private static final long serialVersionUID = 1L;
 	
-	public IntervalCategoryDataset chartDataset;
+	public IntervalCategoryDataset chartDataset, coreDataset;
 	
 	public JList<String> taskList;
 	public ListModel<String> taskListModel;
 	
 	public JFormattedTextField[] fields = new JFormattedTextField[5];
 	
+	public JFormattedTextField processorsField = new JFormattedTextField("1");
+	public JComboBox<Object> modeBox = new JComboBox<Object>();
+	public JComboBox<Policy> policyBox = new JComboBox<Policy>(Policy.values());
+	
 	public JTextArea textArea = new JTextArea();
 	
+	public JProgressBar progressBar = new JProgressBar(0, 100);
+	
 	private JTabbedPane tabbedPane = new JTabbedPane();
-	private ChartPanel chartPanel;
-	private JSplitPane ganttPane, taskPane;
+	private ChartPanel chartPanel, corePanel;
+	private JSplitPane ganttPane, taskPane, comparisonPane;
 	private JScrollPane scrollPane = new JScrollPane(this.textArea);
 	private JPanel taskEditPanel, taskListPanel;
+	private JButton scheduleButton, sensitivityButton, compareButton, cancelButton;
 	
 	private SchedulerController controller;
 	
@@ -84,7 +108,7 @@ public class View extends JFrame {
 	 */
 	private View() {
 		super("(m, k)-RMS Simulator");
-		this.setSize(800, 500);
+		this.setSize(800, 690);
 		
 		this.taskListPanel = getTaskListPanel();
 		this.taskEditPanel = getTaskEditPanel();
@@ -94,7 +118,7 @@ public class View extends JFrame {
 		this.taskPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, this.taskEditPanel, this.taskListPanel);
 		this.taskPane.setEnabled(false);
 		
-		this.chartPanel = getChartPanel(this.chartDataset, "(m, k)-RMS Schedule");
+		this.chartPanel = getChartPanel(this.chartDataset, "(m, k)-RMS Schedule", "Task");
 		
 		this.ganttPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, this.chartPanel, this.scrollPane);
 		this.ganttPane.setEnabled(false);
@@ -117,15 +141,170 @@ public class View extends JFrame {
 	 */
 	public void refreshChartPanel() {
 		this.ganttPane.remove(this.chartPanel);
-		this.chartPanel = getChartPanel(this.chartDataset, "(m, k)-RMS Schedule");
+		this.chartPanel = getChartPanel(this.chartDataset, "(m, k)-RMS Schedule", "Task");
 		this.ganttPane.add(this.chartPanel);
 		
+		// Schedules on more than one processor also show what each processor executed
+		if(this.corePanel != null) {
+			this.tabbedPane.remove(this.corePanel);
+			this.corePanel = null;
+		}
+		
+		if(this.coreDataset != null) {
+			this.corePanel = getChartPanel(this.coreDataset, "Processor Schedule", "Processor");
+			this.tabbedPane.add("Processor Schedule", this.corePanel);
+		}
+		
 		this.tabbedPane.repaint();
 		this.tabbedPane.setSelectedIndex(1);
 		
 		this.scrollPane.setPreferredSize(new Dimension(800, 50));
 	}
 	
+	/**
+	 * Enables the cancel button and resets the progress bar while a schedule is<br>
+	 * being created, or enables the schedule button again when it is done.
+	 * @param scheduling - True if a schedule is being created
+	 */
+	public void setScheduling(boolean scheduling) {
+		this.enableButtons(scheduling);
+		this.cancelButton.setEnabled(scheduling);
+		
+		if(scheduling) {
+			this.progressBar.setValue(0);
+		}
+	}
+	
+	/**
+	 * Enables the buttons which start a background computation if there are tasks and<br>
+	 * no computation is running, and disables them otherwise.
+	 * @param scheduling - True if a background computation is running
+	 */
+	private void enableButtons(boolean scheduling) {
+		this.scheduleButton.setEnabled(!scheduling && this.taskListModel.getSize() > 0);
+		this.sensitivityButton.setEnabled(!scheduling && this.taskListModel.getSize() > 0);
+		this.compareButton.setEnabled(!scheduling && this.taskListModel.getSize() > 0);
+	}
+	
+	/**
+	 * Shows the messages and the chart of a schedule.
+	 * @param result of the schedule to show
+	 */
+	public void setSchedule(ScheduleResult result) {
+		this.textArea.setFont(UIManager.getFont("TextArea.font"));
+		this.textArea.setText("");
+		
+		for(DeadlineMiss deadlineMiss : result.getDeadlineMisses()) {
+			if(deadlineMiss.isMandatory()) {
+				this.textArea.append("Task " + result.getTasks().get(deadlineMiss.getTask()).getName() + " missed deadline at time " + deadlineMiss.getTime() + ".\n");
+			}
+		}
+		
+		int mqrCount = 0;
+		
+		// Get the MQR of every task
+		for(int i = 0; i < result.getTasks().size(); i++) {
+			double m = result.getMandatoryInstances(i), k = result.getInstances(i);
+			
+			this.textArea.append(result.getTasks().get(i).getName() + " MQR: (" + result.getExecutedInstances(i) + " - " + m + ") / (" + k + " - " + m + ") = " + result.getMQR(i) + "\n");
+			
+			if(result.hasMQR(i)) {
+				mqrCount++;
+			}
+		}
+		
+		this.textArea.append("Average MQR: " + (mqrCount < 2 ? (mqrCount == 0 ? "0.0" : "") : "("));
+		
+		for(int i = 0, j = 0; i < result.getTasks().size(); i++) {
+			if(result.hasMQR(i)) {
+				this.textArea.append(result.getMQR(i) + (++j < mqrCount ? " + " : mqrCount < 2 ? "" : ") / " + mqrCount + " = " + result.getAverageMQR()));
+			}
+		}
+		
+		// Processor of every task, when the tasks were partitioned
+		if(result.getProcessors() > 1) {
+			this.textArea.append("\n");
+			
+			for(int i = 0; i < result.getTasks().size(); i++) {
+				if(result.getTaskCore(i) >= 0) {
+					this.textArea.append("\n" + result.getTasks().get(i).getName() + " runs on Core " + result.getTaskCore(i));
+				}
+			}
+		}
+		
+		ScheduleMetrics metrics = result.getMetrics();
+		
+		// Runtime measurements of every task, one line per task
+		if(metrics != null) {
+			this.textArea.append("\n");
+			
+			for(int i = 0; i < result.getTasks().size(); i++) {
+				Task task = result.getTasks().get(i);
+				
+				this.textArea.append("\n" + task.getName() + " Response Time: " + metrics.getResponseTimes(i) + "; Start Jitter: " + metrics.getStartJitter(i)
+						+ "; Preemptions: " + metrics.getPreemptions(i) + "; Context Switches: " + metrics.getContextSwitches(i)
+						+ "; Longest Miss Streak: " + metrics.getMissStreaks(i).getMax() + " (k - m = " + (task.getK() - task.getM()) + ")");
+			}
+		}
+		
+		if(result.isBounded()) {
+			this.textArea.append("\nHyperperiod is too long, only the first " + result.getLength() + " time units were scheduled");
+		}
+		
+		this.textArea.append("\n" + (result.isSucceeded() ? "Scheduling Succeeded" : "Scheduling Failed"));
+		
+		ConstraintViolation violation = result.getFirstViolation();
+		
+		if(violation == null) {
+			this.textArea.append("\nEvery (m, k) constraint was met");
+		}
+		else {
+			this.textArea.append("\n(m, k) constraint of task " + result.getTasks().get(violation.getTask()).getName() + " was broken at time " + violation.getTime()
+					+ ", in instances " + violation.getFirst() + " to " + violation.getLast());
+		}
+		
+		this.chartDataset = new ScheduleDataset(result);
+		this.coreDataset = result.getProcessors() > 1 ? new ScheduleDataset(result, true) : null;
+	}
+	
+	/**
+	 * Shows the table of a sensitivity analysis below the last schedule.
+	 * @param result of the analysis to show
+	 */
+	public void setSensitivity(SensitivityResult result) {
+		this.textArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, UIManager.getFont("TextArea.font").getSize()));
+		this.textArea.setText(result.toString());
+		this.textArea.setCaretPosition(0);
+		
+		this.tabbedPane.setEnabledAt(1, true);
+		this.tabbedPane.setSelectedIndex(1);
+	}
+	
+	/**
+	 * Shows the schedules of a comparison of policies in their own tab, the table of<br>
+	 * the outcomes side by side below the charts of every policy stacked on one time axis.
+	 * @param result of the comparison to show
+	 */
+	public void setComparison(ComparisonResult result) {
+		if(this.comparisonPane != null) {
+			this.tabbedPane.remove(this.comparisonPane);
+		}
+		
+		JTextArea tableArea = new JTextArea(result.toString());
+		tableArea.setEditable(false);
+		tableArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, UIManager.getFont("TextArea.font").getSize()));
+		tableArea.setCaretPosition(0);
+		
+		JScrollPane tablePane = new JScrollPane(tableArea);
+		tablePane.setPreferredSize(new Dimension(800, 150));
+		
+		this.comparisonPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, getComparisonChartPanel(result), tablePane);
+		this.comparisonPane.setEnabled(false);
+		
+		this.tabbedPane.add("Policy Comparison", this.comparisonPane);
+		this.tabbedPane.setSelectedComponent(this.comparisonPane);
+	}
+	
 	/**
 	 * Creates the panel with the list of tasks.
 	 * @return Panel containing list of tasks
@@ -204,12 +383,32 @@ public class View extends JFrame {
 		kFieldBorder.add(fields[4], BorderLayout.WEST);
 		panel.add(kFieldBorder);
 		
+		// Processors and how tasks are assigned to them
+		this.processorsField.setPreferredSize(new Dimension(40, 20));
+		this.modeBox.addItem("Global");
+		for(BinPacking binPacking : BinPacking.values()) {
+			this.modeBox.addItem(binPacking);
+		}
+		this.modeBox.setPreferredSize(new Dimension(150, 20));
+		JPanel processorsBorder = new JPanel(new BorderLayout(10, 0));
+		processorsBorder.setBorder(new TitledBorder("Processors"));
+		processorsBorder.add(processorsField, BorderLayout.WEST);
+		processorsBorder.add(modeBox, BorderLayout.EAST);
+		panel.add(processorsBorder);
+		
+		// Scheduling Policy
+		this.policyBox.setPreferredSize(new Dimension(200, 20));
+		JPanel policyBorder = new JPanel(new BorderLayout());
+		policyBorder.setBorder(new TitledBorder("Scheduling Policy"));
+		policyBorder.add(policyBox, BorderLayout.WEST);
+		panel.add(policyBorder);
+		
 		
 		JPanel buttons = new JPanel();
 		buttons.setLayout(new BoxLayout(buttons, BoxLayout.Y_AXIS));
 		
 		// Schedule Button
-		final JButton scheduleButton = new JButton("Create Schedule");
+		this.scheduleButton = new JButton("Create Schedule");
 		scheduleButton.setVerticalTextPosition(SwingConstants.BOTTOM);
 		scheduleButton.setHorizontalTextPosition(SwingConstants.CENTER);
 		scheduleButton.setSize(new Dimension(200, 30));
@@ -222,6 +421,49 @@ public class View extends JFrame {
 			}
 		});
 		
+		// Sensitivity Button
+		this.sensitivityButton = new JButton("Sensitivity Analysis");
+		sensitivityButton.setVerticalTextPosition(SwingConstants.BOTTOM);
+		sensitivityButton.setHorizontalTextPosition(SwingConstants.CENTER);
+		sensitivityButton.setSize(new Dimension(200, 30));
+		sensitivityButton.setAlignmentX(JComponent.CENTER_ALIGNMENT);
+		sensitivityButton.setEnabled(taskListModel.getSize() > 0);
+		sensitivityButton.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				controller.analyzeSensitivity();
+			}
+		});
+		
+		// Compare Button
+		this.compareButton = new JButton("Compare Policies");
+		compareButton.setVerticalTextPosition(SwingConstants.BOTTOM);
+		compareButton.setHorizontalTextPosition(SwingConstants.CENTER);
+		compareButton.setSize(new Dimension(200, 30));
+		compareButton.setAlignmentX(JComponent.CENTER_ALIGNMENT);
+		compareButton.setEnabled(taskListModel.getSize() > 0);
+		compareButton.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				controller.comparePolicies();
+			}
+		});
+		
+		// Cancel Button
+		this.cancelButton = new JButton("Cancel Schedule");
+		cancelButton.setVerticalTextPosition(SwingConstants.BOTTOM);
+		cancelButton.setHorizontalTextPosition(SwingConstants.CENTER);
+		cancelButton.setSize(new Dimension(200, 30));
+		cancelButton.setAlignmentX(JComponent.CENTER_ALIGNMENT);
+		cancelButton.setEnabled(false);
+		cancelButton.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				controller.cancelSchedule();
+			}
+		});
+		
+		// Schedule Progress
+		this.progressBar.setStringPainted(true);
+		this.progressBar.setAlignmentX(JComponent.CENTER_ALIGNMENT);
+		
 		// Add Button
 		JButton addButton = new JButton("Add Task");
 		addButton.setVerticalTextPosition(SwingConstants.BOTTOM);
@@ -231,7 +473,7 @@ public class View extends JFrame {
 		addButton.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
 				controller.addTask();
-				scheduleButton.setEnabled(taskListModel.getSize() > 0);
+				enableButtons(controller.isBusy());
 			}
 		});
 		
@@ -256,7 +498,7 @@ public class View extends JFrame {
 		deleteButton.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
 				controller.deleteTask();
-				scheduleButton.setEnabled(taskListModel.getSize() > 0);
+				enableButtons(controller.isBusy());
 			}
 		});
 		
@@ -272,8 +514,20 @@ public class View extends JFrame {
 		buttons.add(scheduleButton);
 		buttons.add(Box.createRigidArea(new Dimension(0, 10)));
 		
+		buttons.add(sensitivityButton);
+		buttons.add(Box.createRigidArea(new Dimension(0, 10)));
+		
+		buttons.add(compareButton);
+		buttons.add(Box.createRigidArea(new Dimension(0, 10)));
+		
+		buttons.add(cancelButton);
+		buttons.add(Box.createRigidArea(new Dimension(0, 10)));
+		
+		buttons.add(progressBar);
+		buttons.add(Box.createRigidArea(new Dimension(0, 10)));
+		
 		panel.add(buttons);
-		panel.setPreferredSize(new Dimension(250, 400));
+		panel.setPreferredSize(new Dimension(250, 590));
 		
 		return panel;
 	}
@@ -282,15 +536,18 @@ public class View extends JFrame {
 	 * Creates the panel with the schedule.
 	 * @param chartDataset used to create the chart
 	 * @param title of the chart
+	 * @param category - Label of the rows, the tasks or the processors
 	 * @return Panel containing schedule
 	 */
-	private ChartPanel getChartPanel(IntervalCategoryDataset chartDataset, String title) {
-		final JFreeChart chart = ChartFactory.createGanttChart(title, "Task", "Time", chartDataset, true, false, false);
+	private ChartPanel getChartPanel(IntervalCategoryDataset chartDataset, String title, String category) {
+		final JFreeChart chart = ChartFactory.createGanttChart(title, category, "Time", chartDataset, true, false, false);
 		
-		((DateAxis) chart.getCategoryPlot().getRangeAxis()).setDateFormatOverride(new SimpleDateFormat("Y"));
-		((DateAxis) chart.getCategoryPlot().getRangeAxis()).setTickUnit(new DateTickUnit(DateTickUnitType.YEAR, 5));
-		chart.getCategoryPlot().getRangeAxis().setMinorTickCount(5);
-		chart.getCategoryPlot().getRangeAxis().setMinorTickMarksVisible(true);
+		// Times are plain numbers, so no dates are created for the chart
+		final NumberAxis timeAxis = new NumberAxis("Time");
+		timeAxis.setStandardTickUnits(NumberAxis.createIntegerTickUnits());
+		timeAxis.setMinorTickCount(5);
+		timeAxis.setMinorTickMarksVisible(true);
+		chart.getCategoryPlot().setRangeAxis(timeAxis);
 		
 		LegendItemCollection legendItems = new LegendItemCollection();
 		legendItems.add(new LegendItem("Mandatory Task", Color.GREEN));
@@ -305,6 +562,80 @@ public class View extends JFrame {
 		
 		final ChartPanel chartPanel = new ChartPanel(chart);
 		chartPanel.setPreferredSize(new Dimension(750, 350));
+		
+		// Only draw the shown part of the schedule, at the detail of the pixels it covers
+		if(chartDataset instanceof ScheduleDataset) {
+			final ScheduleDataset dataset = (ScheduleDataset) chartDataset;
+			
+			timeAxis.addChangeListener(new AxisChangeListener() {
+				public void axisChanged(AxisChangeEvent e) {
+					double width = chartPanel.getScreenDataArea().getWidth();
+					dataset.setView((long)Math.floor(timeAxis.getLowerBound()), (long)Math.ceil(timeAxis.getUpperBound()), width > 0 ? (int)width : chartPanel.getPreferredSize().width);
+				}
+			});
+		}
+		
+		return chartPanel;
+	}
+	
+	/**
+	 * Creates the panel with the schedule of every policy of a comparison, one chart<br>
+	 * per policy stacked on the same time axis, so zooming shows the same times in all of them.
+	 * @param result of the comparison
+	 * @return Panel containing the schedules
+	 */
+	private ChartPanel getComparisonChartPanel(ComparisonResult result) {
+		final NumberAxis timeAxis = new NumberAxis("Time");
+		timeAxis.setStandardTickUnits(NumberAxis.createIntegerTickUnits());
+		timeAxis.setMinorTickCount(5);
+		timeAxis.setMinorTickMarksVisible(true);
+		
+		CombinedRangeCategoryPlot plot = new CombinedRangeCategoryPlot(timeAxis);
+		plot.setOrientation(PlotOrientation.HORIZONTAL);
+		plot.setGap(10);
+		
+		final ScheduleDataset[] datasets = new ScheduleDataset[result.getPolicyCount()];
+		GanttRenderer[] renderers = new GanttRenderer[datasets.length];
+		
+		for(int i = 0; i < datasets.length; i++) {
+			datasets[i] = new ScheduleDataset(result.getResult(i));
+			
+			CategoryAxis taskAxis = new CategoryAxis(result.getName(i));
+			taskAxis.setLowerMargin(0);
+			taskAxis.setUpperMargin(0);
+			taskAxis.setCategoryMargin(0);
+			
+			renderers[i] = new GanttRenderer();
+			plot.add(new CategoryPlot(datasets[i], taskAxis, null, renderers[i]));
+		}
+		
+		LegendItemCollection legendItems = new LegendItemCollection();
+		legendItems.add(new LegendItem("Mandatory Task", Color.GREEN));
+		legendItems.add(new LegendItem("Optional Task", Color.RED));
+		plot.setFixedLegendItems(legendItems);
+		
+		JFreeChart chart = new JFreeChart("Policy Comparison", JFreeChart.DEFAULT_TITLE_FONT, plot, true);
+		ChartFactory.getChartTheme().apply(chart);
+		
+		// The theme resets the series paints, so they are set after it
+		for(GanttRenderer renderer : renderers) {
+			renderer.setSeriesPaint(0, new Color(0f, 0f, 0f, 0f));
+		}
+		
+		final ChartPanel chartPanel = new ChartPanel(chart);
+		chartPanel.setPreferredSize(new Dimension(750, 400));
+		
+		// Only draw the shown part of every schedule, at the detail of the pixels it covers
+		timeAxis.addChangeListener(new AxisChangeListener() {
+			public void axisChanged(AxisChangeEvent e) {
+				double width = chartPanel.getScreenDataArea().getWidth();
+				
+				for(ScheduleDataset dataset : datasets) {
+					dataset.setView((long)Math.floor(timeAxis.getLowerBound()), (long)Math.ceil(timeAxis.getUpperBound()), width > 0 ? (int)width : chartPanel.getPreferredSize().width);
+				}
+			}
+		});
+		
 		return chartPanel;
 	}
 }
\ No newline at end of file